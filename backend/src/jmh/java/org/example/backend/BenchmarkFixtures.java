@@ -0,0 +1,137 @@
+package org.example.backend;
+
+import org.example.backend.config.JwtConfig;
+import org.example.backend.entities.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic entity graphs for the JMH benchmarks, so runs on different commits
+ * measure the same data.
+ */
+public final class BenchmarkFixtures {
+    public static final int STALLS_PER_RESERVATION = 3;
+    private static final long SEED = 42;
+
+    private BenchmarkFixtures() {
+    }
+
+    public static List<Stall> stalls(int count) {
+        var sizes = Size.values();
+        int columns = (int) Math.ceil(Math.sqrt(count));
+        var stalls = new ArrayList<Stall>(count);
+        for (int i = 0; i < count; i++) {
+            stalls.add(Stall.builder()
+                    .id((long) i + 1)
+                    .stallCode("S" + Integer.toString(i, 36).toUpperCase())
+                    .size(sizes[i % sizes.length])
+                    .xPosition(1 + (i % columns) * 8)
+                    .yPosition(1 + (i / columns) * 7)
+                    .build());
+        }
+        return stalls;
+    }
+
+    // A packed hall: rows of one size each, one empty cell between neighbours in a
+    // row and between rows, so every stall has up to four same-size neighbours.
+    public static List<Stall> packedStalls(int count) {
+        var sizes = Size.values();
+        int perRow = (int) Math.ceil(Math.sqrt(count));
+        var stalls = new ArrayList<Stall>(count);
+        int y = 1;
+        for (int row = 0; stalls.size() < count; row++) {
+            var size = sizes[(row / 4) % sizes.length];
+            for (int column = 0; column < perRow && stalls.size() < count; column++) {
+                int i = stalls.size();
+                stalls.add(Stall.builder()
+                        .id((long) i + 1)
+                        .stallCode("P" + Integer.toString(i, 36).toUpperCase())
+                        .size(size)
+                        .xPosition(1 + column * (size.width() + 1))
+                        .yPosition(y)
+                        .build());
+            }
+            y += size.height() + 1;
+        }
+        return stalls;
+    }
+
+    // Ids of the stalls held by the given number of reservations, in random order.
+    public static List<Long> reservedStallIds(int stallCount, int reservationCount) {
+        var ids = new ArrayList<Long>(stallCount);
+        for (long id = 1; id <= stallCount; id++) {
+            ids.add(id);
+        }
+        Collections.shuffle(ids, new Random(SEED));
+        return new ArrayList<>(ids.subList(0, Math.min(stallCount, reservationCount * STALLS_PER_RESERVATION)));
+    }
+
+    public static JwtConfig jwtConfig() {
+        var config = new JwtConfig();
+        config.setSecret("benchmark-secret-benchmark-secret-benchmark-secret");
+        config.setAccessTokenExpiration(900);
+        config.setRefreshTokenExpiration(604800);
+        return config;
+    }
+
+    public static Event event() {
+        return Event.builder()
+                .id(1)
+                .name("Colombo International Book Fair")
+                .year(2026)
+                .status(EventStatus.ACTIVE)
+                .build();
+    }
+
+    public static User user(long id) {
+        var user = User.builder()
+                .id(id)
+                .email("vendor" + id + "@example.com")
+                .password("x")
+                .businessName("Vendor " + id)
+                .role(Role.USER)
+                .build();
+        user.setEmailVerified(true);
+        return user;
+    }
+
+    public static List<Genre> genres() {
+        var names = List.of("Fiction", "Children", "Science", "History", "Education", "Religion");
+        var genres = new ArrayList<Genre>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            genres.add(Genre.builder().id(i + 1).name(names.get(i)).build());
+        }
+        return genres;
+    }
+
+    public static List<Reservation> reservations(int reservationCount, List<Stall> stalls) {
+        var random = new Random(SEED);
+        var event = event();
+        var genres = genres();
+        var reservations = new ArrayList<Reservation>(reservationCount);
+        for (int i = 0; i < reservationCount; i++) {
+            var reservation = Reservation.builder()
+                    .id((long) i + 1)
+                    .reservationDate(LocalDateTime.of(2026, 1, 1, 9, 0).plusMinutes(i))
+                    .qrToken(new UUID(random.nextLong(), random.nextLong()))
+                    .status(i % 10 == 0 ? ReservationStatus.CANCELLED : ReservationStatus.CONFIRMED)
+                    .event(event)
+                    .user(user(i % 500 + 1))
+                    .build();
+            for (int s = 0; s < STALLS_PER_RESERVATION; s++) {
+                var stall = stalls.get((i * STALLS_PER_RESERVATION + s) % stalls.size());
+                reservation.getReservationStalls().add(new ReservationStall(
+                        reservation, stall, event, reservation.getStatus() != ReservationStatus.CANCELLED));
+            }
+            reservation.getGenres().add(genres.get(i % genres.size()));
+            reservation.getGenres().add(genres.get((i + 2) % genres.size()));
+            reservations.add(reservation);
+        }
+        return reservations;
+    }
+}
@@ -0,0 +1,321 @@
+package org.example.backend;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.example.backend.repositories.UserRepository;
+import org.example.backend.services.TokenMinter;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end load test of the reservation flow. Starts a throwaway Postgres from the
+ * embedded-postgres binaries, applies the Flyway migrations, seeds a hall, boots the
+ * whole application on a random port with the chosen profile (prod by default) and
+ * then lets many users go through the flow over HTTP at once:
+ * <ol>
+ *     <li>ask for stall recommendations,</li>
+ *     <li>hold one of the suggested groups (retrying on a lost race),</li>
+ *     <li>confirm the hold,</li>
+ *     <li>list their reservations.</li>
+ * </ol>
+ * Every user runs the flow once on a warm-up event and once on the measured event;
+ * p50/p99/max latency per step and for the whole flow are reported for the latter.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks -DskipTests test-compile exec:java \
+ *     -Dexec.mainClass=org.example.backend.ReservationFlowLoadHarness -Dexec.classpathScope=test \
+ *     -Dharness.users=1000 -Dharness.threads=50 -Dharness.stalls=3000 [-Dharness.profile=prod]
+ * </pre>
+ */
+public class ReservationFlowLoadHarness {
+    private static final String[] STEPS = {"recommend", "hold", "confirm", "list", "flow"};
+    private static final int MAX_HOLD_ATTEMPTS = 5;
+
+    private final String profile;
+    private final int users;
+    private final int threads;
+    private final int stalls;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private String baseUrl;
+    private List<String> tokens;
+
+    ReservationFlowLoadHarness(String profile, int users, int threads, int stalls) {
+        this.profile = profile;
+        this.users = users;
+        this.threads = threads;
+        this.stalls = stalls;
+    }
+
+    public static void main(String[] args) throws Exception {
+        var harness = new ReservationFlowLoadHarness(
+                System.getProperty("harness.profile", "prod"),
+                Integer.getInteger("harness.users", 1000),
+                Integer.getInteger("harness.threads", 50),
+                Integer.getInteger("harness.stalls", 3000)
+        );
+        harness.run();
+    }
+
+    void run() throws Exception {
+        try (var postgres = EmbeddedPostgres.builder().start()) {
+            var dataSource = postgres.getPostgresDatabase();
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/migration")
+                    .configuration(Map.of("flyway.postgresql.transactional.lock", "false")).load().migrate();
+            var eventIds = seed(dataSource);
+
+            try (var context = boot(postgres.getPort())) {
+                baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                var tokenMinter = context.getBean(TokenMinter.class);
+                tokens = context.getBean(UserRepository.class).findAll().stream()
+                        .map(user -> tokenMinter.mintAccessToken(user).toString())
+                        .toList();
+
+                runEvent(eventIds.get(0));
+                var result = runEvent(eventIds.get(1));
+                report(result);
+                verify(dataSource, eventIds.get(1), result);
+            }
+        }
+        System.exit(0);
+    }
+
+    private ConfigurableApplicationContext boot(int port) {
+        // Passed as command line arguments so they win over the application*.yaml files.
+        var arguments = new String[]{
+                "--SPRING_PROFILES_ACTIVE=" + profile,
+                "--server.port=0",
+                "--management.server.port=-1",
+                // application-prod.yaml reads the connection from the usual PG* variables.
+                "--PGHOST=localhost",
+                "--PGPORT=" + port,
+                "--PGDATABASE=postgres",
+                "--PGUSER=postgres",
+                "--PGPASSWORD=postgres",
+                "--FRONTEND_URL=http://localhost:5173",
+                "--JWT_SECRET=load-harness-secret-load-harness-secret-0123456789",
+                "--OTP_PEPPER=load-harness-pepper-load-harness-pepper-0123456789",
+                "--MAIL_USERNAME=harness@example.com",
+                "--MAIL_PASSWORD=unused",
+                // Nothing listens here; notification mails fail fast and are only logged.
+                "--spring.mail.host=localhost",
+                "--spring.mail.port=1",
+                "--logging.level.root=WARN",
+                "--logging.level.org.example.backend.services=OFF",
+        };
+        return new SpringApplicationBuilder(BackendApplication.class).run(arguments);
+    }
+
+    // Two active events, a packed hall of SMALL stalls (2x2 cells, one empty cell
+    // between neighbours, so recommendations find groups) and the business users.
+    // Returns the warm-up and measured event ids.
+    private List<Integer> seed(DataSource dataSource) throws SQLException {
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            var eventIds = new ArrayList<Integer>();
+            try (var rows = statement.executeQuery("""
+                    insert into events (name, year, status, start_date, end_date, created_at)
+                    values ('Harness warm-up', 2099, 'ACTIVE', now(), now() + interval '30 days', now()),
+                           ('Harness measured', 2099, 'ACTIVE', now(), now() + interval '30 days', now())
+                    returning id
+                    """)) {
+                while (rows.next()) {
+                    eventIds.add(rows.getInt(1));
+                }
+            }
+            int perRow = (int) Math.ceil(Math.sqrt(stalls));
+            statement.execute("""
+                    insert into stalls (stall_code, size, x_position, y_position)
+                    select 'H' || i, 'SMALL', 1 + (i %% %d) * 3, 1 + (i / %d) * 3
+                    from generate_series(0, %d) i
+                    """.formatted(perRow, perRow, stalls - 1));
+            statement.execute("""
+                    insert into users (email, password, business_name, role, created_at, email_verified)
+                    select 'harness' || i || '@example.com', 'not-a-password-hash', 'Harness ' || i, 'USER', now(), true
+                    from generate_series(1, %d) i
+                    """.formatted(users));
+            eventIds.sort(null);
+            return eventIds;
+        }
+    }
+
+    private Result runEvent(int eventId) throws Exception {
+        var result = new Result(users);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        var next = new AtomicInteger();
+        long started = System.nanoTime();
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int user = next.getAndIncrement(); user < users; user = next.getAndIncrement()) {
+                        try {
+                            result.outcome(flow(eventId, tokens.get(user), 1 + user % 3, result));
+                        } catch (Exception e) {
+                            result.outcome("error: " + e.getMessage());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        result.elapsedNanos = System.nanoTime() - started;
+        return result;
+    }
+
+    private String flow(int eventId, String token, int count, Result result) throws Exception {
+        long flowStarted = System.nanoTime();
+        for (int attempt = 0; attempt < MAX_HOLD_ATTEMPTS; attempt++) {
+            long stepStarted = System.nanoTime();
+            var recommendations = send(token, "GET",
+                    "/api/stalls/event/" + eventId + "/recommendations?size=SMALL&limit=50&count=" + count, null);
+            result.record(0, stepStarted);
+            if (recommendations.statusCode() != 200) {
+                return "recommend " + recommendations.statusCode();
+            }
+            var groups = jsonMapper.readTree(recommendations.body());
+            if (groups.isEmpty()) {
+                return "no free group";
+            }
+            // A random pick among the best groups, as users would not all take the first.
+            var group = groups.get(ThreadLocalRandom.current().nextInt(groups.size()));
+            var stallIds = new ArrayList<Long>();
+            for (JsonNode stall : group.get("stalls")) {
+                stallIds.add(stall.get("id").asLong());
+            }
+
+            stepStarted = System.nanoTime();
+            var hold = send(token, "POST", "/api/reservations/holds",
+                    jsonMapper.writeValueAsString(Map.of("eventId", eventId, "stallIds", stallIds)));
+            result.record(1, stepStarted);
+            if (hold.statusCode() == 400) {
+                result.outcome("hold lost race (retried)");
+                continue;
+            }
+            if (hold.statusCode() != 201) {
+                return "hold " + hold.statusCode();
+            }
+
+            stepStarted = System.nanoTime();
+            var holdId = jsonMapper.readTree(hold.body()).get("holdId").asString();
+            var confirm = send(token, "POST", "/api/reservations/holds/" + holdId + "/confirm", null);
+            result.record(2, stepStarted);
+            if (confirm.statusCode() != 201) {
+                return "confirm " + confirm.statusCode();
+            }
+
+            stepStarted = System.nanoTime();
+            var mine = send(token, "GET", "/api/reservations/me", null);
+            result.record(3, stepStarted);
+            if (mine.statusCode() != 200) {
+                return "list " + mine.statusCode();
+            }
+            result.record(4, flowStarted);
+            return "reserved";
+        }
+        return "gave up after " + MAX_HOLD_ATTEMPTS + " lost races";
+    }
+
+    private HttpResponse<String> send(String token, String method, String path, String json) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void report(Result result) {
+        System.out.printf("%n== reservation flow, profile %s: %d users, %d threads, %d stalls ==%n",
+                profile, users, threads, stalls);
+        System.out.printf("elapsed %.2fs, %.1f flows/s%n",
+                result.elapsedNanos / 1e9, users / (result.elapsedNanos / 1e9));
+        for (int step = 0; step < STEPS.length; step++) {
+            var latencies = result.latencies(step);
+            if (latencies.length == 0) {
+                continue;
+            }
+            System.out.printf("%-9s n=%-5d p50=%7.2fms p99=%7.2fms max=%7.2fms%n", STEPS[step], latencies.length,
+                    percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+                    latencies[latencies.length - 1] / 1e6);
+        }
+        new TreeMap<>(result.outcomes).forEach((outcome, count) -> System.out.printf("  %-32s %d%n", outcome, count.sum()));
+    }
+
+    // Every confirmed flow must have left exactly one reservation behind.
+    private void verify(DataSource dataSource, int eventId, Result result) throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.prepareStatement("select count(*) from reservations where event_id = ?")) {
+            statement.setInt(1, eventId);
+            var rows = statement.executeQuery();
+            rows.next();
+            long stored = rows.getLong(1);
+            long reserved = result.outcomes.getOrDefault("reserved", new LongAdder()).sum();
+            System.out.printf("reservations stored: %d (expected %d)%s%n", stored, reserved, stored == reserved ? "" : "  MISMATCH");
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static final class Result {
+        private final long[][] latencies = new long[STEPS.length][];
+        private final AtomicInteger[] cursors = new AtomicInteger[STEPS.length];
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        private long elapsedNanos;
+
+        Result(int users) {
+            for (int step = 0; step < STEPS.length; step++) {
+                latencies[step] = new long[users * MAX_HOLD_ATTEMPTS];
+                cursors[step] = new AtomicInteger();
+            }
+        }
+
+        void record(int step, long startedNanos) {
+            latencies[step][cursors[step].getAndIncrement()] = System.nanoTime() - startedNanos;
+        }
+
+        void outcome(String outcome) {
+            outcomes.computeIfAbsent(outcome, o -> new LongAdder()).increment();
+        }
+
+        long[] latencies(int step) {
+            var recorded = Arrays.copyOf(latencies[step], cursors[step].get());
+            Arrays.sort(recorded);
+            return recorded;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.backend.mappers;
+
+import org.example.backend.BenchmarkFixtures;
+import org.example.backend.entities.Reservation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationMapperBenchmark {
+    @Param({"100", "1000", "10000", "50000"})
+    private int stallCount;
+
+    @Param({"10", "1000", "10000"})
+    private int reservationCount;
+
+    private ReservationMapper reservationMapper;
+    private List<Reservation> reservations;
+
+    @Setup
+    public void setUp() {
+        var mapper = new ReservationMapperImpl();
+        mapper.stallMapper = new StallMapperImpl();
+        mapper.genreMapper = new GenreMapperImpl();
+        reservationMapper = mapper;
+        reservations = BenchmarkFixtures.reservations(reservationCount, BenchmarkFixtures.stalls(stallCount));
+    }
+
+    // Mapping a whole GET /api/reservations page, which is how the mapper is used.
+    @Benchmark
+    public void toDto(Blackhole blackhole) {
+        for (var reservation : reservations) {
+            blackhole.consume(reservationMapper.toDto(reservation));
+        }
+    }
+}
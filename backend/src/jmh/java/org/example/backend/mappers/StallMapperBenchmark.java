@@ -0,0 +1,54 @@
+package org.example.backend.mappers;
+
+import org.example.backend.BenchmarkFixtures;
+import org.example.backend.dtos.StallAvailabilityDto;
+import org.example.backend.dtos.StallDto;
+import org.example.backend.entities.Stall;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StallMapperBenchmark {
+    @Param({"100", "1000", "10000", "50000"})
+    private int stallCount;
+
+    @Param({"10", "1000", "10000"})
+    private int reservationCount;
+
+    private StallMapper stallMapper;
+    private List<Stall> stalls;
+    private Set<Long> reservedIds;
+
+    @Setup
+    public void setUp() {
+        stallMapper = new StallMapperImpl();
+        stalls = BenchmarkFixtures.stalls(stallCount);
+        reservedIds = new HashSet<>(BenchmarkFixtures.reservedStallIds(stallCount, reservationCount));
+    }
+
+    @Benchmark
+    public void toAvailabilityDto(Blackhole blackhole) {
+        for (var stall : stalls) {
+            StallAvailabilityDto dto = stallMapper.toAvailabilityDto(stall, reservedIds.contains(stall.getId()));
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void toDto(Blackhole blackhole) {
+        for (var stall : stalls) {
+            StallDto dto = stallMapper.toDto(stall);
+            blackhole.consume(dto);
+        }
+    }
+}
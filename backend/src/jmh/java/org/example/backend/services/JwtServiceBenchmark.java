@@ -0,0 +1,45 @@
+package org.example.backend.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+    private JwtService jwtService;
+    private TokenMinter tokenMinter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        var config = BenchmarkFixtures.jwtConfig();
+        jwtService = new JwtService(config, new SimpleMeterRegistry());
+        tokenMinter = new TokenMinter(config);
+        token = tokenMinter.mintAccessToken(BenchmarkFixtures.user(1)).toString();
+    }
+
+    // Login and refresh mint a token and immediately serialise it.
+    @Benchmark
+    public String mintAccessToken() {
+        return tokenMinter.mintAccessToken(BenchmarkFixtures.user(1)).toString();
+    }
+
+    // Full signature verification, what every request paid before the principal cache.
+    @Benchmark
+    public Jwt parseToken() {
+        return jwtService.parseToken(token);
+    }
+
+    // What JwtAuthenticationFilter does for a token it has already seen.
+    @Benchmark
+    public JwtPrincipal authenticateCached() {
+        return jwtService.authenticate(token);
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.backend.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.config.JwtConfig;
+import org.example.backend.config.OtpConfig;
+import org.example.backend.entities.EmailOtp;
+import org.example.backend.entities.OtpPurpose;
+import org.example.backend.repositories.EmailOtpRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OtpServiceBenchmark {
+    private static final String EMAIL = "vendor@example.com";
+    private static final String OTP = "123456";
+
+    // bcrypt is the previous OTP hashing; hmac is HmacOtpHasher over a fresh row.
+    @Param({"bcrypt", "hmac"})
+    private String hasher;
+
+    private OtpService otpService;
+
+    @Setup
+    public void setUp() {
+        var passwordEncoder = new BCryptPasswordEncoder();
+        var config = new OtpConfig();
+        config.setPepper("benchmark-pepper-benchmark-pepper-0123456789");
+        // One send per zero-length window: the limiter runs but never refuses.
+        config.setResendCooldownSeconds(0);
+        config.setMaxSendsInWindow(1);
+        config.setSendWindowMinutes(0);
+        OtpHasher otpHasher = hasher.equals("hmac")
+                ? new HmacOtpHasher(config, new JwtConfig(), passwordEncoder)
+                : new PasswordEncoderOtpHasher(passwordEncoder);
+        var stored = EmailOtp.builder()
+                .email(EMAIL)
+                .purpose(OtpPurpose.VERIFY_EMAIL)
+                .otpHash(otpHasher.hash(OTP))
+                .expiresAt(LocalDateTime.now().plusYears(1))
+                .attempts(0)
+                .createdAt(LocalDateTime.now().minusHours(1))
+                .build();
+
+        var repository = mock(EmailOtpRepository.class);
+        when(repository.findTopByEmailAndPurposeOrderByCreatedAtDesc(anyString(), any()))
+                .thenReturn(Optional.of(stored));
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var meterRegistry = new SimpleMeterRegistry();
+        otpService = new OtpService(repository, otpHasher, new OtpRateLimiter(config, meterRegistry), meterRegistry);
+    }
+
+    @Benchmark
+    public String createOtp() {
+        return otpService.createOtp(EMAIL, OtpPurpose.VERIFY_EMAIL);
+    }
+
+    @Benchmark
+    public EmailOtp validate() {
+        return otpService.validate(EMAIL, OTP, OtpPurpose.VERIFY_EMAIL);
+    }
+}
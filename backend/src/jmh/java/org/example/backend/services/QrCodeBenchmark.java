@@ -0,0 +1,80 @@
+package org.example.backend.services;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.qrcode.QRCodeWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QrCodeBenchmark {
+    private QrCodeService qrCodeService;
+    private String content;
+
+    @Setup
+    public void setUp() {
+        qrCodeService = new QrCodeService(new SimpleMeterRegistry());
+        content = UUID.randomUUID().toString();
+        qrCodeService.generatePng(content);
+    }
+
+    // The rendering path QrCodeService used before the cache and direct writer.
+    @Benchmark
+    public byte[] imageIoRender() throws Exception {
+        var matrix = new QRCodeWriter().encode(content, BarcodeFormat.QR_CODE, 300, 300);
+        var out = new ByteArrayOutputStream();
+        MatrixToImageWriter.writeToStream(matrix, "PNG", out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] directRender() {
+        return qrCodeService.render(content);
+    }
+
+    @Benchmark
+    public byte[] cachedLookup() {
+        return qrCodeService.generatePng(content);
+    }
+
+    // Check-in scanning many different reservations: hit rate depends on how many
+    // distinct tokens compete for the cache.
+    @Benchmark
+    public byte[] rotatingLookup(Tokens tokens) {
+        return qrCodeService.generatePng(tokens.next());
+    }
+
+    @State(Scope.Thread)
+    public static class Tokens {
+        @Param({"10", "1000", "10000"})
+        private int reservationCount;
+
+        private String[] values;
+        private int cursor;
+
+        @Setup
+        public void setUp() {
+            var random = new Random(42);
+            values = new String[reservationCount];
+            for (int i = 0; i < reservationCount; i++) {
+                values[i] = new UUID(random.nextLong(), random.nextLong()).toString();
+            }
+        }
+
+        String next() {
+            var value = values[cursor];
+            cursor = (cursor + 1) % values.length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.backend.services;
+
+import org.example.backend.BenchmarkFixtures;
+import org.example.backend.entities.Reservation;
+import org.example.backend.mappers.GenreMapperImpl;
+import org.example.backend.mappers.ReservationMapper;
+import org.example.backend.mappers.ReservationMapperImpl;
+import org.example.backend.mappers.StallMapperImpl;
+import org.example.backend.repositories.ReservationGenreRow;
+import org.example.backend.repositories.ReservationStallRow;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Assembly cost only: the rows and entities are already in memory, so this leaves
+// out the JDBC and Hibernate hydration time the read model also saves.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationReadModelBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int reservationCount;
+
+    private ReservationMapper reservationMapper;
+    private List<Reservation> reservations;
+    private List<ReservationStallRow> stallRows;
+    private List<ReservationGenreRow> genreRows;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        var mapper = new ReservationMapperImpl();
+        setField(mapper, "stallMapper", new StallMapperImpl());
+        setField(mapper, "genreMapper", new GenreMapperImpl());
+        reservationMapper = mapper;
+        reservations = BenchmarkFixtures.reservations(reservationCount, BenchmarkFixtures.stalls(50_000));
+
+        stallRows = new ArrayList<>();
+        genreRows = new ArrayList<>();
+        for (var reservation : reservations) {
+            for (var reservationStall : reservation.getReservationStalls()) {
+                var stall = reservationStall.getStall();
+                stallRows.add(new ReservationStallRow(
+                        reservation.getId(), reservation.getEvent().getId(), reservation.getUser().getId(),
+                        reservation.getStatus(), reservation.getReservationDate(), reservation.getQrToken(),
+                        reservationStall.isActive(), stall.getId(), stall.getStallCode(), stall.getSize(),
+                        stall.getXPosition(), stall.getYPosition()));
+            }
+            reservation.getGenres().stream()
+                    .sorted(Comparator.comparing(genre -> genre.getId()))
+                    .forEach(genre -> genreRows.add(new ReservationGenreRow(reservation.getId(), genre.getId(), genre.getName())));
+        }
+    }
+
+    @Benchmark
+    public Object rowAssembly() {
+        var result = new ArrayList<Object>(reservationCount);
+        ReservationReadModel.assemble(stallRows.iterator(), genreRows.iterator(), result::add);
+        return result;
+    }
+
+    @Benchmark
+    public Object entityMapping() {
+        return reservations.stream().map(reservationMapper::toDto).toList();
+    }
+
+    private static void setField(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = ReservationMapper.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.backend.services;
+
+import org.example.backend.BenchmarkFixtures;
+import org.example.backend.dtos.StallAvailabilityDto;
+import org.example.backend.entities.Size;
+import org.example.backend.entities.Stall;
+import org.example.backend.mappers.StallMapper;
+import org.example.backend.mappers.StallMapperImpl;
+import org.example.backend.repositories.ReservationStallRepository;
+import org.example.backend.repositories.StallRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StallAvailabilityBenchmark {
+    private static final Integer EVENT_ID = 1;
+
+    @Param({"100", "1000", "10000", "50000"})
+    private int stallCount;
+
+    @Param({"10", "1000", "10000"})
+    private int reservationCount;
+
+    private List<Stall> stalls;
+    private List<Long> reservedIds;
+    private StallMapper stallMapper;
+    private StallAvailabilityIndex index;
+    private StallAvailabilityChanged reserve;
+    private StallAvailabilityChanged release;
+    private Stall moved;
+    private int centre;
+
+    @Setup
+    public void setUp() {
+        stalls = BenchmarkFixtures.stalls(stallCount);
+        reservedIds = BenchmarkFixtures.reservedStallIds(stallCount, reservationCount);
+        stallMapper = new StallMapperImpl();
+
+        var stallRepository = mock(StallRepository.class);
+        var reservationStallRepository = mock(ReservationStallRepository.class);
+        when(stallRepository.findAll()).thenReturn(stalls);
+        when(reservationStallRepository.findActiveReservedStallIdsByEvent(anyInt())).thenReturn(reservedIds);
+
+        index = new StallAvailabilityIndex(stallRepository, reservationStallRepository, stallMapper);
+        index.getAvailability(EVENT_ID);
+
+        var delta = List.of(stalls.get(stallCount / 2).getId());
+        reserve = StallAvailabilityChanged.reserved(EVENT_ID, delta);
+        release = StallAvailabilityChanged.released(EVENT_ID, delta);
+
+        var middle = stalls.get(stallCount / 2);
+        centre = middle.getXPosition();
+        moved = Stall.builder()
+                .id(middle.getId())
+                .stallCode(middle.getStallCode())
+                .size(middle.getSize())
+                .xPosition(middle.getXPosition())
+                .yPosition(middle.getYPosition())
+                .build();
+    }
+
+    // What StallService did per request before the index: join, hash and sort every time.
+    @Benchmark
+    public List<StallAvailabilityDto> rebuildPerRequest() {
+        var reservedSet = new HashSet<>(reservedIds);
+        return stalls.stream()
+                .map(stall -> stallMapper.toAvailabilityDto(stall, reservedSet.contains(stall.getId())))
+                .sorted(Comparator.comparing(StallAvailabilityDto::getStallCode, String.CASE_INSENSITIVE_ORDER))
+                .toList();
+    }
+
+    @Benchmark
+    public List<StallAvailabilityDto> indexedRead() {
+        return index.getAvailability(EVENT_ID);
+    }
+
+    @Benchmark
+    public List<StallAvailabilityDto> coldLoad() {
+        index.invalidateLayout();
+        return index.getAvailability(EVENT_ID);
+    }
+
+    @Benchmark
+    public void applyDelta() {
+        index.apply(reserve);
+        index.apply(release);
+    }
+
+    // Roughly one screen of a zoomed-in map around the middle of the hall.
+    @Benchmark
+    public List<StallAvailabilityDto> viewportRead() {
+        return index.getAvailability(EVENT_ID, centre - 32, centre - 24, centre + 32, centre + 24);
+    }
+
+    @Benchmark
+    public StallAvailabilityDto nearestFree() {
+        return index.nearestFree(EVENT_ID, centre, centre, Size.LARGE, Set.of());
+    }
+
+    // A single stall edit applied to the loaded layout, versus coldLoad.
+    @Benchmark
+    public void singleStallEdit() {
+        index.stallSaved(moved);
+    }
+}
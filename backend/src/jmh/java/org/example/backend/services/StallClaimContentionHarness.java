@@ -0,0 +1,289 @@
+package org.example.backend.services;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hammers one stall from many threads at once against a real Postgres, comparing the
+ * single-statement claim used by ReservationService with the old check-then-insert.
+ * Each round every thread races for the same stall in its own transaction; the
+ * harness reports throughput, latency and how each attempt ended.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks -DskipTests test-compile exec:java \
+ *     -Dexec.mainClass=org.example.backend.services.StallClaimContentionHarness -Dexec.classpathScope=test \
+ *     -Dharness.url=jdbc:postgresql://localhost:5432/bookfair -Dharness.user=postgres -Dharness.password=... \
+ *     -Dharness.threads=200 -Dharness.rounds=50
+ * </pre>
+ *
+ * It creates its own event, stall and user (tagged "contention-harness") and removes
+ * them again when it finishes.
+ */
+public class StallClaimContentionHarness {
+    private static final String TAG = "contention-harness";
+
+    private static final String CLAIM_SQL = """
+            insert into reservation_stalls (reservation_id, stall_id, event_id, active)
+            select ?, s.id, ?, true
+            from stalls s
+            where s.id = ?
+            on conflict do nothing
+            returning stall_id
+            """;
+    private static final String CHECK_SQL = """
+            select count(*) from reservation_stalls
+            where event_id = ? and stall_id = ? and active = true
+            """;
+    private static final String INSERT_SQL = """
+            insert into reservation_stalls (reservation_id, stall_id, event_id, active)
+            values (?, ?, ?, true)
+            """;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int threads;
+    private final int rounds;
+
+    private int eventId;
+    private long stallId;
+    private long userId;
+
+    StallClaimContentionHarness(String url, String user, String password, int threads, int rounds) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.threads = threads;
+        this.rounds = rounds;
+    }
+
+    public static void main(String[] args) throws Exception {
+        var harness = new StallClaimContentionHarness(
+                System.getProperty("harness.url", "jdbc:postgresql://localhost:5432/bookfair"),
+                System.getProperty("harness.user", "postgres"),
+                System.getProperty("harness.password", "postgres"),
+                Integer.getInteger("harness.threads", 200),
+                Integer.getInteger("harness.rounds", 50)
+        );
+        harness.run();
+    }
+
+    void run() throws Exception {
+        try (var connection = connect()) {
+            setUp(connection);
+        }
+        try {
+            report("claim (insert ... on conflict do nothing returning)", race(Mode.CLAIM));
+            report("check-then-insert (previous behaviour)", race(Mode.CHECK_THEN_INSERT));
+        } finally {
+            try (var connection = connect()) {
+                tearDown(connection);
+            }
+        }
+    }
+
+    private Result race(Mode mode) throws Exception {
+        var outcomes = new ConcurrentHashMap<String, LongAdder>();
+        var latencies = new long[threads * rounds];
+        var latencyCursor = new AtomicLong();
+        var winnersPerRound = new int[rounds];
+        var barrier = new CyclicBarrier(threads);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long started = System.nanoTime();
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    try (var connection = connect()) {
+                        connection.setAutoCommit(false);
+                        for (int round = 0; round < rounds; round++) {
+                            barrier.await();
+                            long attemptStarted = System.nanoTime();
+                            var outcome = attempt(connection, mode);
+                            latencies[(int) latencyCursor.getAndIncrement()] = System.nanoTime() - attemptStarted;
+                            outcomes.computeIfAbsent(outcome, o -> new LongAdder()).increment();
+                            if (outcome.equals("claimed")) {
+                                synchronized (winnersPerRound) {
+                                    winnersPerRound[round]++;
+                                }
+                            }
+                            // Every thread has finished its attempt before the stall is freed.
+                            if (barrier.await() == 0) {
+                                release(connection);
+                            }
+                            barrier.await();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - started;
+        return new Result(outcomes, latencies, winnersPerRound, elapsed);
+    }
+
+    private String attempt(Connection connection, Mode mode) {
+        try {
+            long reservationId = insertReservation(connection);
+            boolean claimed = mode == Mode.CLAIM ? claim(connection, reservationId) : checkThenInsert(connection, reservationId);
+            if (claimed) {
+                connection.commit();
+                return "claimed";
+            }
+            connection.rollback();
+            return "rejected (already reserved)";
+        } catch (SQLException e) {
+            rollbackQuietly(connection);
+            return switch (String.valueOf(e.getSQLState())) {
+                case "23505" -> "unique violation (23505)";
+                case "40P01" -> "deadlock (40P01)";
+                case "40001" -> "serialization failure (40001)";
+                default -> "error " + e.getSQLState() + ": " + e.getMessage();
+            };
+        }
+    }
+
+    private long insertReservation(Connection connection) throws SQLException {
+        try (var statement = connection.prepareStatement(
+                "insert into reservations (event_id, user_id, status, reservation_date) values (?, ?, 'CONFIRMED', now()) returning id")) {
+            statement.setInt(1, eventId);
+            statement.setLong(2, userId);
+            try (var rows = statement.executeQuery()) {
+                rows.next();
+                return rows.getLong(1);
+            }
+        }
+    }
+
+    private boolean claim(Connection connection, long reservationId) throws SQLException {
+        try (var statement = connection.prepareStatement(CLAIM_SQL)) {
+            statement.setLong(1, reservationId);
+            statement.setInt(2, eventId);
+            statement.setLong(3, stallId);
+            try (var rows = statement.executeQuery()) {
+                return rows.next();
+            }
+        }
+    }
+
+    private boolean checkThenInsert(Connection connection, long reservationId) throws SQLException {
+        try (var check = connection.prepareStatement(CHECK_SQL)) {
+            check.setInt(1, eventId);
+            check.setLong(2, stallId);
+            try (var rows = check.executeQuery()) {
+                rows.next();
+                if (rows.getLong(1) > 0) {
+                    return false;
+                }
+            }
+        }
+        try (var insert = connection.prepareStatement(INSERT_SQL)) {
+            insert.setLong(1, reservationId);
+            insert.setLong(2, stallId);
+            insert.setInt(3, eventId);
+            insert.executeUpdate();
+            return true;
+        }
+    }
+
+    private void release(Connection connection) throws SQLException {
+        try (var stalls = connection.prepareStatement("delete from reservation_stalls where event_id = ?");
+             var reservations = connection.prepareStatement("delete from reservations where event_id = ?")) {
+            stalls.setInt(1, eventId);
+            stalls.executeUpdate();
+            reservations.setInt(1, eventId);
+            reservations.executeUpdate();
+        }
+        connection.commit();
+    }
+
+    private void setUp(Connection connection) throws SQLException {
+        tearDown(connection);
+        try (var statement = connection.createStatement()) {
+            try (var rows = statement.executeQuery(
+                    "insert into events (name, year, status) values ('" + TAG + "', 1900, 'ACTIVE') returning id")) {
+                rows.next();
+                eventId = rows.getInt(1);
+            }
+            try (var rows = statement.executeQuery(
+                    "insert into stalls (stall_code, size, x_position, y_position) values ('HARNESS', 'SMALL', 0, 0) returning id")) {
+                rows.next();
+                stallId = rows.getLong(1);
+            }
+            try (var rows = statement.executeQuery(
+                    "insert into users (email, password, business_name, role, email_verified) "
+                            + "values ('" + TAG + "@example.invalid', 'x', '" + TAG + "', 'USER', true) returning id")) {
+                rows.next();
+                userId = rows.getLong(1);
+            }
+        }
+    }
+
+    private void tearDown(Connection connection) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.executeUpdate("delete from reservation_stalls where event_id in (select id from events where name = '" + TAG + "')");
+            statement.executeUpdate("delete from reservations where event_id in (select id from events where name = '" + TAG + "')");
+            statement.executeUpdate("delete from events where name = '" + TAG + "'");
+            statement.executeUpdate("delete from stalls where stall_code = 'HARNESS'");
+            statement.executeUpdate("delete from users where email = '" + TAG + "@example.invalid'");
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    private static void rollbackQuietly(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private void report(String title, Result result) {
+        long attempts = (long) threads * rounds;
+        var latencies = Arrays.copyOf(result.latencies(), (int) attempts);
+        Arrays.sort(latencies);
+
+        long doubleBooked = Arrays.stream(result.winnersPerRound()).filter(winners -> winners > 1).count();
+        long unclaimed = Arrays.stream(result.winnersPerRound()).filter(winners -> winners == 0).count();
+
+        System.out.println();
+        System.out.println("== " + title);
+        System.out.printf("threads=%d rounds=%d attempts=%d%n", threads, rounds, attempts);
+        System.out.printf("throughput: %.1f attempts/s%n", attempts / (result.elapsedNanos() / 1e9));
+        System.out.printf("latency ms: p50=%.2f p99=%.2f max=%.2f%n",
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6, latencies[latencies.length - 1] / 1e6);
+        Map<String, Long> sorted = new TreeMap<>();
+        result.outcomes().forEach((outcome, count) -> sorted.put(outcome, count.sum()));
+        sorted.forEach((outcome, count) -> System.out.printf("  %-40s %d%n", outcome, count));
+        System.out.printf("rounds with more than one winner: %d, with none: %d%n", doubleBooked, unclaimed);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private enum Mode {CLAIM, CHECK_THEN_INSERT}
+
+    private record Result(Map<String, LongAdder> outcomes, long[] latencies, int[] winnersPerRound, long elapsedNanos) {
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.backend.services;
+
+import org.example.backend.BenchmarkFixtures;
+import org.example.backend.dtos.StallRecommendationDto;
+import org.example.backend.entities.Size;
+import org.example.backend.mappers.StallMapperImpl;
+import org.example.backend.repositories.ReservationStallRepository;
+import org.example.backend.repositories.StallRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StallRecommendationBenchmark {
+    private static final Integer EVENT_ID = 1;
+
+    @Param({"1000", "10000"})
+    private int stallCount;
+
+    // Share of stalls already reserved, in percent.
+    @Param({"0", "50", "90"})
+    private int reservedPercent;
+
+    @Param({"1", "2", "3"})
+    private int count;
+
+    private StallLayout layout;
+    private StallAvailabilityIndex index;
+
+    @Setup
+    public void setUp() {
+        var stalls = BenchmarkFixtures.packedStalls(stallCount);
+        int reservedStalls = stallCount * reservedPercent / 100;
+        var reservedIds = BenchmarkFixtures.reservedStallIds(stallCount,
+                (reservedStalls + BenchmarkFixtures.STALLS_PER_RESERVATION - 1) / BenchmarkFixtures.STALLS_PER_RESERVATION);
+
+        var stallRepository = mock(StallRepository.class);
+        var reservationStallRepository = mock(ReservationStallRepository.class);
+        when(stallRepository.findAll()).thenReturn(stalls);
+        when(reservationStallRepository.findActiveReservedStallIdsByEvent(anyInt())).thenReturn(reservedIds);
+
+        index = new StallAvailabilityIndex(stallRepository, reservationStallRepository, new StallMapperImpl());
+        index.recommend(EVENT_ID, count, Size.MEDIUM, Set.of(), 10);
+        layout = StallLayout.of(stalls);
+    }
+
+    @Benchmark
+    public List<StallRecommendationDto> recommend() {
+        return index.recommend(EVENT_ID, count, Size.MEDIUM, Set.of(), 10);
+    }
+
+    // One-off cost per layout, paid by the first recommendation after a change.
+    @Benchmark
+    public StallAdjacency buildAdjacency() {
+        return StallAdjacency.of(layout);
+    }
+}
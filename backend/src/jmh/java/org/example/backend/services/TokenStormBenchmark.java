@@ -0,0 +1,87 @@
+package org.example.backend.services;
+
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.BenchmarkFixtures;
+import org.example.backend.config.JwtConfig;
+import org.example.backend.entities.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins competing with a refresh storm (every open tab refreshing at once after an
+ * access token expires). Each group measures the login side and the refresh side
+ * separately; the legacy group replays what AuthService did before tokens were
+ * signed once and the key was built once.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenStormBenchmark {
+    private JwtConfig config;
+    private JwtService jwtService;
+    private TokenMinter tokenMinter;
+    private User user;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        config = BenchmarkFixtures.jwtConfig();
+        jwtService = new JwtService(config, new SimpleMeterRegistry());
+        tokenMinter = new TokenMinter(config);
+        user = BenchmarkFixtures.user(1);
+        refreshToken = tokenMinter.mintRefreshToken(user).toString();
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(1)
+    public String[] login() {
+        return new String[]{
+                tokenMinter.mintAccessToken(user).toString(),
+                tokenMinter.mintRefreshToken(user).toString()
+        };
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(7)
+    public String refresh() {
+        var jwt = jwtService.parseToken(refreshToken);
+        return tokenMinter.mintAccessToken(BenchmarkFixtures.user(jwt.getUserId())).toString();
+    }
+
+    @Benchmark
+    @Group("legacyStorm")
+    @GroupThreads(1)
+    public String[] legacyLogin() {
+        return new String[]{legacyMint(config.getAccessTokenExpiration()), legacyMint(config.getRefreshTokenExpiration())};
+    }
+
+    @Benchmark
+    @Group("legacyStorm")
+    @GroupThreads(7)
+    public String legacyRefresh() {
+        var claims = Jwts.parser().verifyWith(config.getSecretKey()).build()
+                .parseSignedClaims(refreshToken).getPayload();
+        Long.valueOf(claims.getSubject());
+        return legacyMint(config.getAccessTokenExpiration());
+    }
+
+    private String legacyMint(long tokenExpiration) {
+        var claims = Jwts.claims()
+                .subject(user.getId().toString())
+                .add("email", user.getEmail())
+                .add("businessName", user.getBusinessName())
+                .add("role", user.getRole())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 1000 * tokenExpiration))
+                .build();
+        return Jwts.builder().claims(claims).signWith(config.getSecretKey()).compact();
+    }
+}
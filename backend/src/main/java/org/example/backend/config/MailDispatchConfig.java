@@ -0,0 +1,17 @@
+package org.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "spring.app.mail-dispatch")
+@Data
+public class MailDispatchConfig {
+    private int concurrency = 2;
+    private int queueCapacity = 1000;
+    private int batchSize = 20;
+    private long batchWindowMillis = 200;
+    private double perDomainPerSecond = 5;
+    private long idleTimeoutMillis = 30_000;
+}
@@ -0,0 +1,22 @@
+package org.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "spring.app.otp")
+@Data
+public class OtpConfig {
+    // Server-side HMAC key for OTP hashes; never stored next to them.
+    private String pepper;
+
+    private int resendCooldownSeconds = 60;
+    private int maxSendsInWindow = 3;
+    private int sendWindowMinutes = 10;
+    private int maxSendsPerClientInWindow = 20;
+    private long maxTrackedKeys = 100_000;
+
+    private int cleanupBatchSize = 1_000;
+    private long cleanupBatchPauseMillis = 50;
+}
@@ -0,0 +1,16 @@
+package org.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "spring.app.password-hashing")
+@Data
+public class PasswordHashingConfig {
+    // Left below the core count so hashing never takes every CPU from the rest of the API.
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int queueCapacity = 32;
+    private long waitTimeoutMillis = 5_000;
+    private int retryAfterSeconds = 2;
+}
@@ -0,0 +1,18 @@
+package org.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "spring.app.reservation-admission")
+@Data
+public class ReservationAdmissionConfig {
+    public enum Mode { LOCAL, ADVISORY }
+
+    // LOCAL serialises within this JVM; ADVISORY uses Postgres transaction-scoped
+    // advisory locks so it holds across several backend nodes.
+    private Mode mode = Mode.LOCAL;
+    private int stripes = 1024;
+    private long lockTimeoutMillis = 2_000;
+}
@@ -1,9 +1,13 @@
 package org.example.backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.controllers.ReservationController;
 import org.example.backend.entities.Role;
 import org.example.backend.filters.JwtAuthenticationFilter;
+import org.example.backend.services.BoundedPasswordEncoder;
 //import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -41,15 +45,18 @@ public class SecurityConfig {
     private final UserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingConfig config, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), config, meterRegistry);
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         var provider = new DaoAuthenticationProvider(userDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
         return provider;
     }
 
@@ -69,6 +76,7 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(List.of("*"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of(ReservationController.NEXT_CURSOR_HEADER));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -97,6 +105,12 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET,"/api/stalls/**").permitAll()
                         .requestMatchers(HttpMethod.GET,"/api/genres/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
+                        // Scraped by Prometheus and probed by the load balancer, but only on the
+                        // management port, which listens on an internal interface.
+                        .requestMatchers(request -> request.getLocalPort() == managementPort
+                                && HttpMethod.GET.matches(request.getMethod())
+                                && ("/actuator/health".equals(request.getRequestURI())
+                                || "/actuator/prometheus".equals(request.getRequestURI()))).permitAll()
 
                         .requestMatchers(HttpMethod.PUT,"/api/users")
                         .hasRole(Role.USER.name())
@@ -104,6 +118,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET,"/api/reservations")
                         .hasRole(Role.EMPLOYEE.name())
 
+                        .requestMatchers(HttpMethod.GET,"/api/reservations/export")
+                        .hasRole(Role.EMPLOYEE.name())
+
                         .requestMatchers(HttpMethod.PUT,"/api/reservations/employee/*")
                         .hasRole(Role.EMPLOYEE.name())
 
@@ -116,6 +133,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST,"/api/stalls")
                         .hasRole(Role.EMPLOYEE.name())
 
+                        .requestMatchers(HttpMethod.POST,"/api/stalls/bulk")
+                        .hasRole(Role.EMPLOYEE.name())
+
                         .requestMatchers(HttpMethod.PUT,"/api/stalls/{id}")
                         .hasRole(Role.EMPLOYEE.name())
 
@@ -134,6 +154,9 @@ public class SecurityConfig {
                         .requestMatchers("/api/reservations/**")
                         .hasRole(Role.USER.name())
 
+                        .requestMatchers("/actuator/metrics/**", "/actuator/caches/**")
+                        .hasRole(Role.EMPLOYEE.name())
+
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
@@ -0,0 +1,24 @@
+package org.example.backend.controllers;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+// Versioned GETs: the body is only produced when the client's If-None-Match no
+// longer matches. no-cache makes browsers revalidate on every use, which is cheap.
+final class ConditionalGet {
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> respond(WebRequest webRequest, String etag, Supplier<T> body) {
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(body.get());
+    }
+}
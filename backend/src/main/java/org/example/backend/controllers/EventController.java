@@ -8,8 +8,10 @@ import org.example.backend.dtos.UpdateEventRequest;
 import org.example.backend.dtos.UpdateEventStatusRequest;
 import org.example.backend.entities.EventStatus;
 import org.example.backend.services.EventService;
+import org.example.backend.services.ResourceVersions;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.List;
@@ -19,23 +21,26 @@ import java.util.List;
 @RequestMapping("/api/events")
 public class EventController {
     private final EventService eventService;
+    private final ResourceVersions resourceVersions;
 
     @GetMapping
-    public List<EventDto> getEvents(
+    public ResponseEntity<List<EventDto>> getEvents(
             @RequestParam(required = false) EventStatus status,
-            @RequestParam(required = false) Integer year
+            @RequestParam(required = false) Integer year,
+            WebRequest webRequest
     ) {
-        return eventService.listEvents(status, year);
+        return ConditionalGet.respond(webRequest, resourceVersions.eventsTag(),
+                () -> eventService.listEvents(status, year));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EventDto> getEvent(@PathVariable Integer id) {
-        return ResponseEntity.ok(eventService.getEvent(id));
+    public ResponseEntity<EventDto> getEvent(@PathVariable Integer id, WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, resourceVersions.eventTag(id), () -> eventService.getEvent(id));
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<EventDto>> getActiveEvents() {
-        return ResponseEntity.ok(eventService.getActiveEvents());
+    public ResponseEntity<List<EventDto>> getActiveEvents(WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, resourceVersions.eventsTag(), eventService::getActiveEvents);
     }
 
     @PostMapping
@@ -5,11 +5,13 @@ import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.example.backend.dtos.CreateGenreRequest;
 import org.example.backend.dtos.GenreDto;
-import org.example.backend.entities.Genre;
 import org.example.backend.mappers.GenreMapper;
 import org.example.backend.repositories.GenreRepository;
+import org.example.backend.services.GenreService;
+import org.example.backend.services.ResourceVersions;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.List;
@@ -21,11 +23,12 @@ import java.util.Map;
 public class GenreController {
     private final GenreRepository genreRepository;
     private final GenreMapper genreMapper;
+    private final GenreService genreService;
+    private final ResourceVersions resourceVersions;
 
     @GetMapping
-    public List<GenreDto> getAllGenres() {
-        List<Genre> genres = genreRepository.findAll();
-        return genres.stream().map(genreMapper::toDto).toList();
+    public ResponseEntity<List<GenreDto>> getAllGenres(WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, resourceVersions.genresTag(), genreService::listGenres);
     }
 
     @GetMapping("/{id}")
@@ -50,6 +53,7 @@ public class GenreController {
         }
 
         var genre = genreRepository.save(genreMapper.toEntity(request));
+        resourceVersions.genresChanged();
         var dto = genreMapper.toDto(genre);
 
         var uri = uriBuilder.path("/api/genres/{id}").buildAndExpand(dto.getId()).toUri();
@@ -64,6 +68,7 @@ public class GenreController {
         if(genre == null)
             return ResponseEntity.notFound().build();
         genreRepository.delete(genre);
+        resourceVersions.genresChanged();
         return ResponseEntity.noContent().build();
     }
 
@@ -87,6 +92,7 @@ public class GenreController {
 
         genre.setName(requestedName);
         genreRepository.save(genre);
+        resourceVersions.genresChanged();
         return ResponseEntity.ok().body(genreMapper.toDto(genre));
     }
 
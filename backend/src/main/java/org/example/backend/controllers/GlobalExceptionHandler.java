@@ -1,6 +1,7 @@
 package org.example.backend.controllers;
 
 import jakarta.validation.ConstraintViolationException;
+import org.example.backend.exceptions.StallImportException;
 import org.example.backend.exceptions.UnauthorizedException;
 import org.example.backend.exceptions.UserNotFoundException;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -11,8 +12,10 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestCookieException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.LinkedHashMap;
@@ -51,6 +54,10 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<Map<String, String>> handleAuthentication(AuthenticationException e) {
+        // The provider wraps anything thrown while loading the user, a shed hash included.
+        if (e.getCause() instanceof ResponseStatusException cause) {
+            return handleResponseStatus(cause);
+        }
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(Map.of("message", safeMessage(e.getMessage(), "Unauthorized")));
     }
@@ -83,12 +90,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(body);
     }
 
+    @ExceptionHandler(StallImportException.class)
+    public ResponseEntity<Map<String, Object>> handleStallImport(StallImportException e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", e.getMessage());
+        body.put("errors", e.getErrors());
+        return ResponseEntity.badRequest().body(body);
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<Map<String, String>> handleNotReadable(HttpMessageNotReadableException e) {
         return ResponseEntity.badRequest()
                 .body(Map.of("message", "Malformed JSON request body."));
     }
 
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<Map<String, String>> handleMissingParameter(MissingServletRequestParameterException e) {
+        return ResponseEntity.badRequest()
+                .body(Map.of("message", "Parameter '" + e.getParameterName() + "' is required."));
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleTypeMismatch(MethodArgumentTypeMismatchException e) {
+        return ResponseEntity.badRequest()
+                .body(Map.of("message", "Parameter '" + e.getName() + "' has an invalid value."));
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<Map<String, String>> handleDataIntegrityViolation(DataIntegrityViolationException e) {
         var root = e.getMostSpecificCause();
@@ -118,6 +145,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<Map<String, String>> handleResponseStatus(ResponseStatusException e) {
         var message = safeMessage(e.getReason(), "Request failed");
         return ResponseEntity.status(e.getStatusCode())
+                .headers(e.getHeaders())
                 .body(Map.of("message", message));
     }
 
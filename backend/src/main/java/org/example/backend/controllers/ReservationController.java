@@ -7,18 +7,34 @@ import org.example.backend.dtos.UpdateReservationGenresRequest;
 import org.example.backend.dtos.UpdateReservationRequest;
 import org.example.backend.entities.ReservationStatus;
 import org.example.backend.services.AuthService;
+import org.example.backend.services.QrCodeService;
 import org.example.backend.services.ReservationService;
+import org.example.backend.services.ReservationExporter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.Locale;
+import java.util.UUID;
+
 @AllArgsConstructor
 @RestController
 @RequestMapping("/api/reservations")
 public class ReservationController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 500;
 
     private final ReservationService reservationService;
+    private final ReservationExporter reservationExporter;
     private final AuthService authService;
+    private final QrCodeService qrCodeService;
 
     @GetMapping("/me")
     public ResponseEntity<?> getMyReservations(
@@ -31,9 +47,41 @@ public class ReservationController {
     public ResponseEntity<?> getReservations(
             @RequestParam(required = false) Integer eventId,
             @RequestParam(required = false) ReservationStatus status,
-            @RequestParam(required = false) Long userId
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit
+    ) {
+        // Without paging parameters the whole filtered list is returned, as before paging existed.
+        if (afterId == null && limit == null) {
+            return ResponseEntity.ok(reservationService.listReservationsFiltered(eventId, status, userId));
+        }
+        var page = reservationService.listReservationsPage(eventId, status, userId, afterId,
+                limit != null ? limit : DEFAULT_PAGE_SIZE);
+        var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+        }
+        return response.body(page.items());
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @RequestParam(required = false) Integer eventId,
+            @RequestParam(required = false) ReservationStatus status,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(defaultValue = "ndjson") String format
     ) {
-        return ResponseEntity.ok(reservationService.listReservationsFiltered(eventId, status, userId));
+        var exportFormat = ReservationExporter.Format.parse(format);
+        reservationService.requireEventIfPresent(eventId);
+
+        StreamingResponseBody body = out -> reservationExporter.export(eventId, status, userId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("reservations." + exportFormat.name().toLowerCase(Locale.ROOT))
+                        .build()
+                        .toString())
+                .body(body);
     }
 
     @PostMapping
@@ -46,6 +94,28 @@ public class ReservationController {
         return ResponseEntity.created(uri).body(reservationDto);
     }
 
+    @PostMapping("/holds")
+    public ResponseEntity<?> placeHold(@Valid @RequestBody MakeReservationRequest request) {
+        var holdDto = reservationService.placeHold(authService.getCurrentUserId(), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(holdDto);
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    public ResponseEntity<?> confirmHold(
+            @PathVariable(name = "holdId") UUID holdId,
+            UriComponentsBuilder uriBuilder
+    ) {
+        var reservationDto = reservationService.confirmHold(authService.getCurrentUserId(), holdId);
+        var uri = uriBuilder.path("/api/reservations/{id}").buildAndExpand(reservationDto.getId()).toUri();
+        return ResponseEntity.created(uri).body(reservationDto);
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable(name = "holdId") UUID holdId) {
+        reservationService.releaseHold(authService.getCurrentUserId(), holdId);
+        return ResponseEntity.noContent().build();
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<?> cancelReservation(
             @PathVariable(name = "id") Long reservationId
@@ -77,6 +147,27 @@ public class ReservationController {
         return ResponseEntity.ok(reservationDto);
     }
 
+    @GetMapping(path = "/{id}/qr", produces = MediaType.IMAGE_PNG_VALUE)
+    public ResponseEntity<byte[]> getQrCode(
+            @PathVariable(name = "id") Long reservationId,
+            WebRequest webRequest
+    ) {
+        var qrToken = reservationService.getReservationQrToken(authService.getCurrentUserId(), reservationId);
+
+        // The PNG is a pure function of the token, so the token itself is the ETag. Clients
+        // revalidate on every use (a cheap 304) so a cancellation takes effect at once.
+        var etag = "\"" + qrToken + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.IMAGE_PNG)
+                .body(qrCodeService.getPng(qrToken));
+    }
+
     @PutMapping("/{id}/genres")
     public ResponseEntity<?> addGenres(
             @PathVariable(name = "id") Long reservationId,
@@ -6,11 +6,21 @@ import lombok.AllArgsConstructor;
 import org.example.backend.dtos.AddStallRequest;
 import org.example.backend.dtos.StallAvailabilityDto;
 import org.example.backend.dtos.StallDto;
+import org.example.backend.dtos.StallRecommendationDto;
+import org.example.backend.entities.Size;
+import org.example.backend.services.ResourceVersions;
+import org.example.backend.services.StallImportService;
 import org.example.backend.services.StallService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
 
 @AllArgsConstructor
@@ -18,10 +28,12 @@ import java.util.List;
 @RequestMapping("/api/stalls")
 public class StallController {
     private final StallService stallService;
+    private final ResourceVersions resourceVersions;
+    private final StallImportService stallImportService;
 
     @GetMapping
-    public List<StallDto> getAllStalls() {
-        return stallService.listStalls();
+    public ResponseEntity<List<StallDto>> getAllStalls(WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, resourceVersions.stallsTag(), stallService::listStalls);
     }
 
     @GetMapping("/{id}")
@@ -32,10 +44,47 @@ public class StallController {
     }
 
     @GetMapping("/event/{eventId}")
-    public List<StallAvailabilityDto> getStallsWithStatus(
+    public ResponseEntity<List<StallAvailabilityDto>> getStallsWithStatus(
+            @PathVariable Integer eventId,
+            @RequestParam(required = false) Integer minX,
+            @RequestParam(required = false) Integer minY,
+            @RequestParam(required = false) Integer maxX,
+            @RequestParam(required = false) Integer maxY,
+            WebRequest webRequest
+    ) {
+        return ConditionalGet.respond(webRequest, resourceVersions.availabilityTag(eventId),
+                () -> stallService.listStallAvailability(eventId, minX, minY, maxX, maxY));
+    }
+
+    @GetMapping("/event/{eventId}/nearest-free")
+    public ResponseEntity<StallAvailabilityDto> getNearestFreeStall(
+            @PathVariable Integer eventId,
+            @RequestParam int x,
+            @RequestParam int y,
+            @RequestParam Size size,
+            WebRequest webRequest
+    ) {
+        return ConditionalGet.respond(webRequest, resourceVersions.availabilityTag(eventId),
+                () -> stallService.findNearestFreeStall(eventId, x, y, size));
+    }
+
+    @GetMapping("/event/{eventId}/recommendations")
+    public ResponseEntity<List<StallRecommendationDto>> getRecommendations(
+            @PathVariable Integer eventId,
+            @RequestParam int count,
+            @RequestParam Size size,
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest webRequest
+    ) {
+        return ConditionalGet.respond(webRequest, resourceVersions.availabilityTag(eventId),
+                () -> stallService.recommendStalls(eventId, count, size, limit));
+    }
+
+    @GetMapping(path = "/event/{eventId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStallsWithStatus(
             @PathVariable Integer eventId
     ) {
-        return stallService.listStallAvailability(eventId);
+        return stallService.streamStallAvailability(eventId);
     }
 
     @PostMapping
@@ -48,6 +97,19 @@ public class StallController {
         return ResponseEntity.created(uri).body(dto);
     }
 
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<StallDto>> importStalls(@RequestBody List<AddStallRequest> requests) {
+        var stalls = stallImportService.importStalls(requests, List.of());
+        return ResponseEntity.status(HttpStatus.CREATED).body(stalls);
+    }
+
+    @PostMapping(path = "/bulk", consumes = "text/csv")
+    public ResponseEntity<List<StallDto>> importStallsCsv(Reader body) throws IOException {
+        var parsed = stallImportService.parseCsv(body);
+        var stalls = stallImportService.importStalls(parsed.rows(), parsed.errors());
+        return ResponseEntity.status(HttpStatus.CREATED).body(stalls);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<StallDto> updateStall(
             @PathVariable Long id,
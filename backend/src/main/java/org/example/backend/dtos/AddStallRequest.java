@@ -9,6 +9,7 @@ import org.example.backend.entities.Size;
 @Data
 public class AddStallRequest {
     @NotBlank(message = "Stall code is required.")
+    @jakarta.validation.constraints.Size(max = 10, message = "Stall code must be at most 10 characters.")
     private String stallCode;
 
     @NotNull(message = "Size is required.")
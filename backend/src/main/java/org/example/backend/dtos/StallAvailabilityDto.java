@@ -11,4 +11,5 @@ public class StallAvailabilityDto {
     private int xPosition;
     private int yPosition;
     private boolean reserved;
+    private boolean held;
 }
\ No newline at end of file
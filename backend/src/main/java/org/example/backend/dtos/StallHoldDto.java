@@ -0,0 +1,15 @@
+package org.example.backend.dtos;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class StallHoldDto {
+    private UUID holdId;
+    private Integer eventId;
+    private List<Long> stallIds;
+    private Instant expiresAt;
+}
@@ -0,0 +1,13 @@
+package org.example.backend.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// row is 1-based over the uploaded stalls (the CSV header is not counted).
+@Data
+@AllArgsConstructor
+public class StallImportError {
+    private int row;
+    private String stallCode;
+    private String message;
+}
@@ -0,0 +1,14 @@
+package org.example.backend.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// wastedCells: cells of the group's bounding box not covered by one of its stalls.
+@Data
+@AllArgsConstructor
+public class StallRecommendationDto {
+    private List<StallAvailabilityDto> stalls;
+    private int wastedCells;
+}
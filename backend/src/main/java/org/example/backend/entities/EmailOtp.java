@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @Builder
 public class EmailOtp {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_otps_id_seq")
+    @SequenceGenerator(name = "email_otps_id_seq", sequenceName = "email_otps_id_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
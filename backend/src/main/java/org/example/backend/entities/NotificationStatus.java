@@ -0,0 +1,7 @@
+package org.example.backend.entities;
+
+public enum NotificationStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
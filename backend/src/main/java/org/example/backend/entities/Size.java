@@ -1,7 +1,24 @@
 package org.example.backend.entities;
 
+// Footprint in map grid cells, measured from the stall's x/y position.
 public enum Size {
-    SMALL,
-    MEDIUM,
-    LARGE
+    SMALL(2, 2),
+    MEDIUM(5, 3),
+    LARGE(7, 6);
+
+    private final int width;
+    private final int height;
+
+    Size(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
 }
@@ -13,7 +13,8 @@ import lombok.*;
 @Table(name = "stalls")
 public class Stall {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stalls_id_seq")
+    @SequenceGenerator(name = "stalls_id_seq", sequenceName = "stalls_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -0,0 +1,24 @@
+package org.example.backend.exceptions;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 503 with a Retry-After hint, for work that was shed because a bounded pool is full.
+ */
+public class ServiceSaturatedException extends ResponseStatusException {
+    private final int retryAfterSeconds;
+
+    public ServiceSaturatedException(String reason, int retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, reason);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        var headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Integer.toString(retryAfterSeconds));
+        return headers;
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.backend.exceptions;
+
+import lombok.Getter;
+import org.example.backend.dtos.StallImportError;
+
+import java.util.List;
+
+@Getter
+public class StallImportException extends RuntimeException {
+    private final List<StallImportError> errors;
+
+    public StallImportException(List<StallImportError> errors) {
+        super("Stall import failed; no stalls were created.");
+        this.errors = errors;
+    }
+}
@@ -22,6 +22,13 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
 
+    // Async dispatches (streamed exports, SSE) go through authorization again, so they
+    // need the token's authentication too.
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
         var authHeader = request.getHeader("Authorization");
@@ -31,17 +38,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         var token = authHeader.replace("Bearer ", "");
-        var jwt = jwtService.parseToken(token);
+        var principal = jwtService.authenticate(token);
 
-        if(jwt == null || jwt.isExpired()) {
+        if(principal == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
         var authentication = new UsernamePasswordAuthenticationToken(
-                jwt.getUserId(),
+                principal.userId(),
                 null,
-                List.of(new SimpleGrantedAuthority("ROLE_" + jwt.getRole()))
+                List.of(new SimpleGrantedAuthority("ROLE_" + principal.role()))
         );
         authentication.setDetails(
                 new WebAuthenticationDetailsSource().buildDetails(request)
@@ -18,6 +18,7 @@ public interface StallMapper {
     Stall toEntity(AddStallRequest request);
 
     @Mapping(target = "reserved", ignore = true)
+    @Mapping(target = "held", ignore = true)
     StallAvailabilityDto toAvailabilityDto(Stall stall);
 
     void update(AddStallRequest request, @MappingTarget Stall stall);
@@ -1,5 +1,6 @@
 package org.example.backend.repositories;
 
+import jakarta.transaction.Transactional;
 import org.example.backend.entities.EmailOtp;
 import org.example.backend.entities.OtpPurpose;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -17,19 +18,19 @@ public interface EmailOtpRepository extends JpaRepository<EmailOtp, Long> {
             OtpPurpose purpose
     );
 
-    @Query("""
-        SELECT COUNT(e) FROM EmailOtp e
-        WHERE e.email = :email AND e.purpose = :purpose
-        AND e.createdAt >= :since
-    """)
-    long countSince(
-            @Param("email") String email,
-            @Param("purpose") OtpPurpose purpose,
-            @Param("since") LocalDateTime since);
-
-
+    // One bounded batch per call, committed on its own so locks and WAL stay small.
+    @Transactional
     @Modifying
-    @Query("DELETE FROM EmailOtp e WHERE e.createdAt < :cutoff")
-    void deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+    @Query(value = """
+        DELETE FROM email_otps WHERE id IN (
+            SELECT id FROM email_otps
+            WHERE created_at < :cutoff
+            ORDER BY created_at
+            LIMIT :batchSize
+        )
+    """, nativeQuery = true)
+    int deleteBatchCreatedBefore(
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("batchSize") int batchSize);
 
 }
@@ -0,0 +1,4 @@
+package org.example.backend.repositories;
+
+public record ReservationGenreRow(long reservationId, Integer genreId, String genreName) {
+}
@@ -0,0 +1,26 @@
+package org.example.backend.repositories;
+
+import org.example.backend.entities.ReservationNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReservationNotificationRepository extends JpaRepository<ReservationNotification, Long> {
+
+    @Query(value = """
+        select *
+        from reservation_notifications
+        where status = 'PENDING'
+          and next_attempt_at <= :now
+        order by next_attempt_at
+        limit :limit
+        for update skip locked
+    """, nativeQuery = true)
+    List<ReservationNotification> lockDue(
+            @Param("now") LocalDateTime now,
+            @Param("limit") int limit
+    );
+}
@@ -0,0 +1,21 @@
+package org.example.backend.repositories;
+
+import org.example.backend.entities.ReservationStatus;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Flat projections behind the reservation listings. Every filter is optional
+ * (null = not filtered); afterId / lastId bound the reservation id range,
+ * exclusive / inclusive. Row streams are ordered by reservation id.
+ */
+public interface ReservationRowQueries {
+    List<Long> findPageIds(Integer eventId, ReservationStatus status, Long userId, Long afterId, int limit);
+
+    Stream<ReservationStallRow> streamStallRows(Integer eventId, ReservationStatus status, Long userId,
+                                                Long afterId, Long lastId);
+
+    Stream<ReservationGenreRow> streamGenreRows(Integer eventId, ReservationStatus status, Long userId,
+                                                Long afterId, Long lastId);
+}
@@ -0,0 +1,98 @@
+package org.example.backend.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.example.backend.entities.ReservationStatus;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// The JPQL is assembled from the filters actually given rather than written as
+// "(:x is null or ...)": once the driver switches to a server-side prepared
+// statement, Postgres plans those catch-all predicates generically and falls back
+// to scanning all of reservations, even for a single user's listing.
+@RequiredArgsConstructor
+class ReservationRowQueriesImpl implements ReservationRowQueries {
+    private static final int FETCH_SIZE = 1000;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Long> findPageIds(Integer eventId, ReservationStatus status, Long userId, Long afterId, int limit) {
+        var filter = new Filter(eventId, status, userId, afterId, null);
+        var query = entityManager.createQuery("""
+                select r.id
+                from Reservation r%s
+                order by r.id
+                """.formatted(filter.where()), Long.class);
+        filter.bind(query);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<ReservationStallRow> streamStallRows(Integer eventId, ReservationStatus status, Long userId,
+                                                       Long afterId, Long lastId) {
+        var filter = new Filter(eventId, status, userId, afterId, lastId);
+        // The id range is repeated on the join; Postgres does not carry a range
+        // predicate across it and would otherwise read all of reservation_stalls.
+        var query = entityManager.createQuery("""
+                select new org.example.backend.repositories.ReservationStallRow(
+                    r.id, r.event.id, r.user.id, r.status, r.reservationDate, r.qrToken,
+                    rs.active, s.id, s.stallCode, s.size, s.xPosition, s.yPosition)
+                from Reservation r
+                left join r.reservationStalls rs%s
+                left join rs.stall s%s
+                order by r.id, s.id
+                """.formatted(filter.rangeOn("rs.reservation.id"), filter.where()), ReservationStallRow.class);
+        filter.bind(query);
+        return query.setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE).getResultStream();
+    }
+
+    @Override
+    public Stream<ReservationGenreRow> streamGenreRows(Integer eventId, ReservationStatus status, Long userId,
+                                                       Long afterId, Long lastId) {
+        var filter = new Filter(eventId, status, userId, afterId, lastId);
+        var query = entityManager.createQuery("""
+                select new org.example.backend.repositories.ReservationGenreRow(r.id, g.id, g.name)
+                from Reservation r
+                join r.genres g%s
+                order by r.id, g.id
+                """.formatted(filter.where()), ReservationGenreRow.class);
+        filter.bind(query);
+        return query.setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE).getResultStream();
+    }
+
+    private record Filter(Integer eventId, ReservationStatus status, Long userId, Long afterId, Long lastId) {
+        String where() {
+            var conditions = new ArrayList<String>();
+            if (eventId != null) conditions.add("r.event.id = :eventId");
+            if (status != null) conditions.add("r.status = :status");
+            if (userId != null) conditions.add("r.user.id = :userId");
+            if (afterId != null) conditions.add("r.id > :afterId");
+            if (lastId != null) conditions.add("r.id <= :lastId");
+            return conditions.isEmpty() ? "" : "\nwhere " + String.join(" and ", conditions);
+        }
+
+        String rangeOn(String path) {
+            var conditions = new ArrayList<String>();
+            if (afterId != null) conditions.add(path + " > :afterId");
+            if (lastId != null) conditions.add(path + " <= :lastId");
+            return conditions.isEmpty() ? "" : " on " + String.join(" and ", conditions);
+        }
+
+        void bind(TypedQuery<?> query) {
+            Map<String, Object> parameters = new LinkedHashMap<>();
+            if (eventId != null) parameters.put("eventId", eventId);
+            if (status != null) parameters.put("status", status);
+            if (userId != null) parameters.put("userId", userId);
+            if (afterId != null) parameters.put("afterId", afterId);
+            if (lastId != null) parameters.put("lastId", lastId);
+            parameters.forEach(query::setParameter);
+        }
+    }
+}
@@ -55,4 +55,23 @@ public interface ReservationStallRepository extends JpaRepository<ReservationSta
     """)
     List<Long> findActiveStallIds(Long reservationId);
 
+    // Claims the stalls for the reservation in one statement. Stalls another active
+    // reservation already holds are skipped (ON CONFLICT hits uq_event_stall_active)
+    // and missing from the result; rows are inserted in id order so two overlapping
+    // claims always wait on each other in the same order instead of deadlocking.
+    @Query(value = """
+        insert into reservation_stalls (reservation_id, stall_id, event_id, active)
+        select :reservationId, s.id, :eventId, true
+        from stalls s
+        where s.id in :stallIds
+        order by s.id
+        on conflict do nothing
+        returning cast(stall_id as bigint)
+    """, nativeQuery = true)
+    List<Long> claimStalls(
+            @Param("reservationId") Long reservationId,
+            @Param("eventId") Integer eventId,
+            @Param("stallIds") List<Long> stallIds
+    );
+
 }
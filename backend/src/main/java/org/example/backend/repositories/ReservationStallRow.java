@@ -0,0 +1,24 @@
+package org.example.backend.repositories;
+
+import org.example.backend.entities.ReservationStatus;
+import org.example.backend.entities.Size;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One reservation x stall row; the stall columns are null for a reservation without stalls.
+public record ReservationStallRow(
+        long reservationId,
+        Integer eventId,
+        Long userId,
+        ReservationStatus status,
+        LocalDateTime reservationDate,
+        UUID qrToken,
+        Boolean active,
+        Long stallId,
+        String stallCode,
+        Size size,
+        Integer xPosition,
+        Integer yPosition
+) {
+}
@@ -2,6 +2,13 @@ package org.example.backend.repositories;
 
 import org.example.backend.entities.Stall;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface StallRepository extends JpaRepository<Stall, Long> {
+    @Query("select s.stallCode from Stall s where s.stallCode in :stallCodes")
+    List<String> findExistingStallCodes(@Param("stallCodes") Collection<String> stallCodes);
 }
@@ -21,6 +21,7 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final JwtService jwtService;
+    private final TokenMinter tokenMinter;
     private final UserMapper userMapper;
     private final OtpService otpService;
     private final EmailService emailService;
@@ -41,8 +42,8 @@ public class AuthService {
                 )
         );
 
-        var accessToken = jwtService.generateAccessToken(user).toString();
-        var refreshToken = jwtService.generateRefreshToken(user).toString();
+        var accessToken = tokenMinter.mintAccessToken(user).toString();
+        var refreshToken = tokenMinter.mintRefreshToken(user).toString();
         return new AuthTokens(accessToken, refreshToken);
     }
 
@@ -54,7 +55,7 @@ public class AuthService {
 
         var user = userRepository.findById(jwt.getUserId())
                 .orElseThrow(UserNotFoundException::new);
-        return jwtService.generateAccessToken(user).toString();
+        return tokenMinter.mintAccessToken(user).toString();
     }
 
     public String forgotPassword(EmailRequest request) {
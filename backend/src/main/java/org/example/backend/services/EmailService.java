@@ -1,6 +1,9 @@
 package org.example.backend.services;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.example.backend.entities.OtpPurpose;
 import org.example.backend.entities.Reservation;
 import org.example.backend.entities.User;
@@ -9,71 +12,71 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final MailDispatcher mailDispatcher;
+    private final MeterRegistry meterRegistry;
 
 
-    public void sendReservationConfirmation(User user, Reservation reservation, byte[] qrPng) {
-        try {
-            String stallList = reservation.getReservationStalls()
-                    .stream()
-                    .map(rs -> rs.getStall().getStallCode())
-                    .collect(Collectors.joining(", "));
-
-            String subject = "Reservation Confirmed";
-
-            String html = """
-                    <div style="font-family:Arial,sans-serif;">
-                      <h2>Reservation Confirmed</h2>
-                      <p>Hello %s,</p>
-                      <p>Reservation Confirmed. Thank you for the reservation.</p>
-                      <ul>
-                        <li><b>Reservation ID:</b> %s</li>
-                        <li><b>Event ID:</b> %s</li>
-                        <li><b>Stalls:</b> %s</li>
-                      </ul>
-                      <p>Show this QR at the entrance:</p>
-                      <img src="cid:qrImage" style="width:220px;height:220px;" />
-                      <p>Thank you.</p>
-                    </div>
-                    """.formatted(
-                    safe(user.getBusinessName()),
-                    reservation.getId(),
-                    reservation.getEvent().getId(),
-                    stallList
-            );
+    public CompletableFuture<Void> sendReservationConfirmation(User user, Reservation reservation, byte[] qrPng) throws MessagingException {
+        var sample = Timer.start(meterRegistry);
+        String stallList = reservation.getReservationStalls()
+                .stream()
+                .map(rs -> rs.getStall().getStallCode())
+                .collect(Collectors.joining(", "));
 
-            MimeMessage message = mailSender.createMimeMessage();
+        String subject = "Reservation Confirmed";
 
-            MimeMessageHelper helper = new MimeMessageHelper(
-                    message,
-                    MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED,
-                    StandardCharsets.UTF_8.name()
-            );
+        String html = """
+                <div style="font-family:Arial,sans-serif;">
+                  <h2>Reservation Confirmed</h2>
+                  <p>Hello %s,</p>
+                  <p>Reservation Confirmed. Thank you for the reservation.</p>
+                  <ul>
+                    <li><b>Reservation ID:</b> %s</li>
+                    <li><b>Event ID:</b> %s</li>
+                    <li><b>Stalls:</b> %s</li>
+                  </ul>
+                  <p>Show this QR at the entrance:</p>
+                  <img src="cid:qrImage" style="width:220px;height:220px;" />
+                  <p>Thank you.</p>
+                </div>
+                """.formatted(
+                safe(user.getBusinessName()),
+                reservation.getId(),
+                reservation.getEvent().getId(),
+                stallList
+        );
 
-            helper.setTo(user.getEmail());
-            helper.setSubject(subject);
-            helper.setText(html, true);
+        MimeMessage message = mailSender.createMimeMessage();
 
-            // Inline image (CID)
-            helper.addInline("qrImage", new ByteArrayResource(qrPng), "image/png");
+        MimeMessageHelper helper = new MimeMessageHelper(
+                message,
+                MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED,
+                StandardCharsets.UTF_8.name()
+        );
 
-            // Also attach (optional, but useful)
-            helper.addAttachment("reservation-qr.png", new ByteArrayResource(qrPng), "image/png");
+        helper.setTo(user.getEmail());
+        helper.setSubject(subject);
+        helper.setText(html, true);
 
-            mailSender.send(message);
+        // Inline image (CID)
+        helper.addInline("qrImage", new ByteArrayResource(qrPng), "image/png");
 
-        } catch (Exception e) {
-            // IMPORTANT: do not break reservation flow
-            System.err.println("Email sending failed: " + e.getMessage());
-        }
+        // Also attach (optional, but useful)
+        helper.addAttachment("reservation-qr.png", new ByteArrayResource(qrPng), "image/png");
+
+        return track(sample, "reservation", mailDispatcher.submit(message));
     }
 
 
@@ -99,10 +102,11 @@ public class EmailService {
                 </div>
                 """.formatted(title, otp, OtpService.OTP_EXPIRY_MINUTES);
 
-        sendHtmlEmail(to, subject, html);
+        sendHtmlEmail("otp", to, subject, html);
     }
 
-    private void sendHtmlEmail(String to, String subject, String html) {
+    private void sendHtmlEmail(String type, String to, String subject, String html) {
+        var sample = Timer.start(meterRegistry);
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(
@@ -115,12 +119,30 @@ public class EmailService {
             helper.setSubject(subject);
             helper.setText(html, true);
 
-            mailSender.send(message);
+            track(sample, type, mailDispatcher.submit(message)).whenComplete((sent, error) -> {
+                if (error != null) {
+                    log.error("Sending {} email failed", type, error);
+                }
+            });
         } catch (Exception e) {
-            System.err.println("Email sending failed: " + e.getMessage());
+            sample.stop(sendTimer(type, "failed"));
+            log.error("Sending {} email failed", type, e);
         }
     }
 
+    // From building the message until the SMTP server accepted or refused it, queueing included.
+    private CompletableFuture<Void> track(Timer.Sample sample, String type, CompletableFuture<Void> sending) {
+        return sending.whenComplete((sent, error) -> sample.stop(sendTimer(type, error == null ? "sent" : "failed")));
+    }
+
+    private Timer sendTimer(String type, String outcome) {
+        return Timer.builder("email.send")
+                .description("Email send latency by outcome")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
 
     private String safe(String s) {
         return (s == null || s.isBlank()) ? "Business User" : s;
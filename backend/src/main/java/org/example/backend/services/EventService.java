@@ -8,6 +8,7 @@ import org.example.backend.entities.Event;
 import org.example.backend.entities.EventStatus;
 import org.example.backend.mappers.EventMapper;
 import org.example.backend.repositories.EventRepository;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
@@ -19,13 +20,16 @@ import java.util.NoSuchElementException;
 public class EventService {
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
+    private final ResourceVersions resourceVersions;
 
+    @Cacheable("events")
     public List<EventDto> listEvents(EventStatus status, Integer year) {
         return eventRepository.findAllWithFilters(status, year).stream()
                 .map(eventMapper::toDto)
                 .toList();
     }
 
+    @Cacheable("event")
     public EventDto getEvent(Integer id) {
         return eventMapper.toDto(findEventById(id));
     }
@@ -40,6 +44,7 @@ public class EventService {
         }
 
         event = eventRepository.save(event);
+        resourceVersions.eventChanged(event.getId());
         return eventMapper.toDto(event);
     }
 
@@ -51,6 +56,7 @@ public class EventService {
         eventMapper.update(request, event);
 
         event = eventRepository.save(event);
+        resourceVersions.eventChanged(event.getId());
         return eventMapper.toDto(event);
     }
 
@@ -71,6 +77,7 @@ public class EventService {
 
         event.setStatus(status);
         event = eventRepository.save(event);
+        resourceVersions.eventChanged(event.getId());
         return eventMapper.toDto(event);
     }
 
@@ -98,6 +105,7 @@ public class EventService {
         }
     }
 
+    @Cacheable("activeEvents")
     public List<EventDto> getActiveEvents() {
         List<Event> activeEvents = eventRepository.findByStatus(EventStatus.ACTIVE);
         return eventMapper.toDto(activeEvents);
@@ -0,0 +1,24 @@
+package org.example.backend.services;
+
+import lombok.AllArgsConstructor;
+import org.example.backend.dtos.GenreDto;
+import org.example.backend.mappers.GenreMapper;
+import org.example.backend.repositories.GenreRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class GenreService {
+    private final GenreRepository genreRepository;
+    private final GenreMapper genreMapper;
+
+    @Cacheable("genres")
+    public List<GenreDto> listGenres() {
+        return genreRepository.findAll().stream()
+                .map(genreMapper::toDto)
+                .toList();
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.backend.services;
+
+import org.example.backend.config.JwtConfig;
+import org.example.backend.config.OtpConfig;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * HMAC-SHA256 of the code under a server pepper, stored as "hmac$" + base64.
+ * Anything without the prefix is a BCrypt hash from before the switch and is
+ * checked by the legacy hasher.
+ */
+@Component
+public class HmacOtpHasher implements OtpHasher {
+    static final String PREFIX = "hmac$";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_PEPPER_BYTES = 32;
+
+    private final SecretKeySpec key;
+    private final OtpHasher legacy;
+    // Mac instances are stateful; one per thread avoids a provider lookup per call.
+    private final ThreadLocal<Mac> macs;
+
+    public HmacOtpHasher(OtpConfig config, JwtConfig jwtConfig, PasswordEncoder passwordEncoder) {
+        var pepper = config.getPepper();
+        if (pepper == null || pepper.getBytes(StandardCharsets.UTF_8).length < MIN_PEPPER_BYTES) {
+            throw new IllegalStateException(
+                    "OTP_PEPPER (spring.app.otp.pepper) must be set to at least " + MIN_PEPPER_BYTES + " bytes.");
+        }
+        // A key shared with JWT signing would let a leak of one compromise the other.
+        if (pepper.equals(jwtConfig.getSecret())) {
+            throw new IllegalStateException("OTP_PEPPER must not reuse JWT_SECRET.");
+        }
+        this.key = new SecretKeySpec(pepper.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.legacy = new PasswordEncoderOtpHasher(passwordEncoder);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    @Override
+    public String hash(String otp) {
+        return PREFIX + Base64.getEncoder().withoutPadding().encodeToString(mac(otp));
+    }
+
+    @Override
+    public boolean matches(String otp, String storedHash) {
+        if (storedHash == null) {
+            return false;
+        }
+        if (!storedHash.startsWith(PREFIX)) {
+            return legacy.matches(otp, storedHash);
+        }
+        byte[] expected;
+        try {
+            expected = Base64.getDecoder().decode(storedHash.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, mac(otp));
+    }
+
+    private byte[] mac(String otp) {
+        return macs.get().doFinal(otp.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            var mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
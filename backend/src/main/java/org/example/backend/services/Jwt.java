@@ -5,15 +5,28 @@ import io.jsonwebtoken.Jwts;
 import org.example.backend.entities.Role;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
 import java.util.Date;
 
-public class Jwt {
+public final class Jwt {
     private final Claims claims;
     private final SecretKey secretKey;
+    private volatile String compact;
 
-    public Jwt(Claims claims, SecretKey secretKey) {
+    private Jwt(Claims claims, SecretKey secretKey, String compact) {
         this.claims = claims;
         this.secretKey = secretKey;
+        this.compact = compact;
+    }
+
+    // A freshly minted token; it is signed the first time its compact form is needed.
+    static Jwt unsigned(Claims claims, SecretKey secretKey) {
+        return new Jwt(claims, secretKey, null);
+    }
+
+    // A token that came in over the wire: the verified string is its compact form.
+    static Jwt parsed(Claims claims, String compact) {
+        return new Jwt(claims, null, compact);
     }
 
     public boolean isExpired() {
@@ -22,6 +35,10 @@ public class Jwt {
         return claims.getExpiration().before(new Date());
     }
 
+    public Instant getExpiresAt() {
+        return claims.getExpiration().toInstant();
+    }
+
     public Long getUserId() {
         return Long.valueOf(claims.getSubject());
     }
@@ -30,7 +47,13 @@ public class Jwt {
         return Role.valueOf(claims.get("role", String.class));
     }
 
+    // HMAC signing is deterministic, so a racing second signer produces the same string.
     public String toString() {
-        return Jwts.builder().claims(claims).signWith(secretKey).compact();
+        var value = compact;
+        if (value == null) {
+            value = Jwts.builder().claims(claims).signWith(secretKey).compact();
+            compact = value;
+        }
+        return value;
     }
 }
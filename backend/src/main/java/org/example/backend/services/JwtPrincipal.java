@@ -0,0 +1,11 @@
+package org.example.backend.services;
+
+import org.example.backend.entities.Role;
+
+import java.time.Instant;
+
+public record JwtPrincipal(Long userId, Role role, Instant expiresAt) {
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -1,57 +1,120 @@
 package org.example.backend.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import lombok.AllArgsConstructor;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.example.backend.config.JwtConfig;
-import org.example.backend.entities.User;
 import org.springframework.stereotype.Service;
 
-import java.util.Date;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
-@AllArgsConstructor
 @Service
 public class JwtService {
-    private final JwtConfig jwtConfig;
+    private static final long PRINCIPAL_CACHE_MAX_SIZE = 50_000;
 
+    private final JwtParser parser;
 
-    public Jwt generateAccessToken(User user) {
-        return generateToken(user, jwtConfig.getAccessTokenExpiration());
-    }
+    // Verified access tokens keyed by their SHA-256, so a token reused on every request
+    // is checked once; entries expire together with the token itself.
+    private final Cache<String, JwtPrincipal> principalCache = Caffeine.newBuilder()
+            .maximumSize(PRINCIPAL_CACHE_MAX_SIZE)
+            .expireAfter(new Expiry<String, JwtPrincipal>() {
+                @Override
+                public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+                    return Math.max(0, Duration.between(Instant.now(), principal.expiresAt()).toNanos());
+                }
 
-    public Jwt generateRefreshToken(User user) {
-        return generateToken(user, jwtConfig.getRefreshTokenExpiration());
-    }
+                @Override
+                public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, principal, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
 
-    private Jwt generateToken(User user, long tokenExpiration) {
-        var claims = Jwts.claims()
-                        .subject(user.getId().toString())
-                        .add("email", user.getEmail())
-                        .add("businessName", user.getBusinessName())
-                        .add("role", user.getRole())
-                        .issuedAt(new Date())
-                        .expiration(new Date(System.currentTimeMillis() + 1000 * tokenExpiration))
-                        .build();
-
-        return new Jwt(claims, jwtConfig.getSecretKey());
+    private final Map<String, Counter> parseCounters = new HashMap<>();
+
+    public JwtService(JwtConfig jwtConfig, MeterRegistry meterRegistry) {
+        this.parser = Jwts.parser().verifyWith(jwtConfig.getSecretKey()).build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principalCache, "jwtPrincipal");
+        for (var outcome : List.of("valid", "expired", "bad_signature", "malformed", "invalid")) {
+            parseCounters.put(outcome, Counter.builder("jwt.parse")
+                    .description("Signature-checked token parses by outcome (cache hits excluded)")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
     }
 
     public Jwt parseToken(String token) {
         try {
-            var claims = getClaims(token);
-            return new Jwt(claims, jwtConfig.getSecretKey());
+            var jwt = Jwt.parsed(getClaims(token), token);
+            parseCounters.get("valid").increment();
+            return jwt;
+        } catch (ExpiredJwtException e) {
+            parseCounters.get("expired").increment();
+            return null;
+        } catch (SignatureException e) {
+            parseCounters.get("bad_signature").increment();
+            return null;
+        } catch (MalformedJwtException e) {
+            parseCounters.get("malformed").increment();
+            return null;
         } catch (JwtException e) {
+            parseCounters.get("invalid").increment();
             return null;
         }
     }
 
+    public JwtPrincipal authenticate(String token) {
+        var now = Instant.now();
+        var key = digest(token);
+        var cached = principalCache.getIfPresent(key);
+        if (cached != null) {
+            return cached.isExpired(now) ? null : cached;
+        }
+
+        var jwt = parseToken(token);
+        if (jwt == null || jwt.isExpired()) {
+            return null;
+        }
+        var principal = new JwtPrincipal(jwt.getUserId(), jwt.getRole(), jwt.getExpiresAt());
+        principalCache.put(key, principal);
+        return principal;
+    }
+
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(jwtConfig.getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
+    private static String digest(String token) {
+        try {
+            var hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
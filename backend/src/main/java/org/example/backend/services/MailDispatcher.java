@@ -0,0 +1,318 @@
+package org.example.backend.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.example.backend.config.MailDispatchConfig;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queued SMTP sender. Worker threads collect messages for a short window and send
+ * them over a connection each worker keeps open between batches, instead of paying
+ * a connect + STARTTLS handshake for every mail.
+ */
+@Component
+public class MailDispatcher {
+    private static final long THROTTLE_BACKOFF_MILLIS = 100;
+    private static final long MAX_TRACKED_DOMAINS = 10_000;
+
+    private final JavaMailSender mailSender;
+    private final MailDispatchConfig config;
+    private final BlockingQueue<PendingMail> queue;
+    // Keyed by recipient domain, which users choose; an idle throttle is back at full
+    // burst within a second, so dropping it after a minute loses nothing.
+    private final Cache<String, DomainThrottle> throttles = Caffeine.newBuilder()
+            .maximumSize(MAX_TRACKED_DOMAINS)
+            .expireAfterAccess(Duration.ofMinutes(1))
+            .build();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final Timer sendTimer;
+    private final Timer deliveryTimer;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final DistributionSummary batchSizes;
+
+    public MailDispatcher(JavaMailSender mailSender, MailDispatchConfig config, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.config = config;
+        this.queue = new LinkedBlockingQueue<>(config.getQueueCapacity());
+
+        Gauge.builder("mail.dispatch.queue.depth", queue, Collection::size)
+                .description("Mails waiting to be sent")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("mail.dispatch.send")
+                .description("SMTP time per message")
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("mail.dispatch.delivery")
+                .description("Time from enqueue until the SMTP server accepted the message")
+                .register(meterRegistry);
+        this.failedCounter = meterRegistry.counter("mail.dispatch.failed");
+        this.rejectedCounter = meterRegistry.counter("mail.dispatch.rejected");
+        this.batchSizes = DistributionSummary.builder("mail.dispatch.batch.size")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<Void> submit(MimeMessage message) {
+        var pending = new PendingMail(message, recipientDomain(message), new CompletableFuture<>(), System.nanoTime());
+        if (!running || !queue.offer(pending)) {
+            rejectedCounter.increment();
+            pending.result().completeExceptionally(new MailSendException("Mail queue is full."));
+        }
+        return pending.result();
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < Math.max(1, config.getConcurrency()); i++) {
+            var worker = new Thread(this::runWorker, "mail-dispatch-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (var worker : workers) {
+            worker.interrupt();
+        }
+        for (var worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        PendingMail pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new MailSendException("Mail dispatcher stopped."));
+        }
+    }
+
+    private void runWorker() {
+        var connection = new WorkerConnection();
+        try {
+            while (running) {
+                var batch = nextBatch();
+                if (batch.isEmpty()) {
+                    connection.closeIfIdle();
+                    continue;
+                }
+                batchSizes.record(batch.size());
+                send(connection, batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connection.close();
+        }
+    }
+
+    private List<PendingMail> nextBatch() throws InterruptedException {
+        var candidate = queue.poll(1, TimeUnit.SECONDS);
+        if (candidate == null) {
+            return List.of();
+        }
+
+        var batch = new ArrayList<PendingMail>(config.getBatchSize());
+        var deferred = new ArrayList<PendingMail>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getBatchWindowMillis());
+
+        while (candidate != null) {
+            if (throttle(candidate.domain()).tryAcquire()) {
+                batch.add(candidate);
+            } else {
+                deferred.add(candidate);
+            }
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= config.getBatchSize() || remaining <= 0) {
+                break;
+            }
+            candidate = queue.poll(remaining, TimeUnit.NANOSECONDS);
+        }
+
+        // Over-quota domains go back to the tail; if nothing else was sendable, back
+        // off briefly instead of spinning on the same throttled messages.
+        for (var mail : deferred) {
+            if (!queue.offer(mail)) {
+                fail(mail, new MailSendException("Mail queue is full."));
+            }
+        }
+        if (batch.isEmpty()) {
+            Thread.sleep(THROTTLE_BACKOFF_MILLIS);
+        }
+        return batch;
+    }
+
+    private void send(WorkerConnection connection, List<PendingMail> batch) {
+        if (!(mailSender instanceof JavaMailSenderImpl)) {
+            sendWithoutPooling(batch);
+            return;
+        }
+
+        for (var mail : batch) {
+            long started = System.nanoTime();
+            try {
+                connection.send(mail.message());
+                sendTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                deliveryTimer.record(System.nanoTime() - mail.enqueuedAt(), TimeUnit.NANOSECONDS);
+                mail.result().complete(null);
+            } catch (MessagingException | RuntimeException e) {
+                fail(mail, e);
+            }
+        }
+    }
+
+    private void sendWithoutPooling(List<PendingMail> batch) {
+        long started = System.nanoTime();
+        try {
+            mailSender.send(batch.stream().map(PendingMail::message).toArray(MimeMessage[]::new));
+            long elapsed = System.nanoTime() - started;
+            for (var mail : batch) {
+                sendTimer.record(elapsed / batch.size(), TimeUnit.NANOSECONDS);
+                deliveryTimer.record(System.nanoTime() - mail.enqueuedAt(), TimeUnit.NANOSECONDS);
+                mail.result().complete(null);
+            }
+        } catch (MailSendException e) {
+            var failed = e.getFailedMessages();
+            for (var mail : batch) {
+                var cause = failed.get(mail.message());
+                if (cause == null && !failed.isEmpty()) {
+                    mail.result().complete(null);
+                } else {
+                    fail(mail, cause != null ? cause : e);
+                }
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(mail -> fail(mail, e));
+        }
+    }
+
+    private void fail(PendingMail mail, Exception e) {
+        failedCounter.increment();
+        mail.result().completeExceptionally(e);
+    }
+
+    private DomainThrottle throttle(String domain) {
+        return throttles.get(domain, d -> new DomainThrottle(config.getPerDomainPerSecond()));
+    }
+
+    private static String recipientDomain(MimeMessage message) {
+        try {
+            var recipients = message.getAllRecipients();
+            if (recipients != null && recipients.length > 0 && recipients[0] instanceof InternetAddress address) {
+                var email = address.getAddress();
+                int at = email.lastIndexOf('@');
+                return at < 0 ? "" : email.substring(at + 1).toLowerCase();
+            }
+        } catch (MessagingException ignored) {
+        }
+        return "";
+    }
+
+    private record PendingMail(MimeMessage message, String domain, CompletableFuture<Void> result, long enqueuedAt) {
+    }
+
+    private static final class DomainThrottle {
+        private final double permitsPerNano;
+        private final double burst;
+        private double permits;
+        private long refilledAt = System.nanoTime();
+
+        DomainThrottle(double permitsPerSecond) {
+            this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.burst = Math.max(1, permitsPerSecond);
+            this.permits = burst;
+        }
+
+        synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            permits = Math.min(burst, permits + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+            if (permits < 1) {
+                return false;
+            }
+            permits--;
+            return true;
+        }
+    }
+
+    // One SMTP connection per worker thread, reopened when the server drops it and
+    // closed after a quiet period so we do not hold idle sessions on the relay.
+    private final class WorkerConnection {
+        private Transport transport;
+        private long lastUsedAt;
+
+        void send(MimeMessage message) throws MessagingException {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            try {
+                connected().sendMessage(message, message.getAllRecipients());
+            } catch (MessagingException e) {
+                if (transport != null && transport.isConnected()) {
+                    throw e;
+                }
+                close();
+                connected().sendMessage(message, message.getAllRecipients());
+            }
+            lastUsedAt = System.currentTimeMillis();
+        }
+
+        void closeIfIdle() {
+            if (transport != null && System.currentTimeMillis() - lastUsedAt > config.getIdleTimeoutMillis()) {
+                close();
+            }
+        }
+
+        void close() {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException ignored) {
+            }
+            transport = null;
+        }
+
+        private Transport connected() throws MessagingException {
+            if (transport == null) {
+                var sender = (JavaMailSenderImpl) mailSender;
+                var session = sender.getSession();
+                var protocol = sender.getProtocol() != null
+                        ? sender.getProtocol()
+                        : session.getProperty("mail.transport.protocol");
+                transport = session.getTransport(protocol != null ? protocol : JavaMailSenderImpl.DEFAULT_PROTOCOL);
+                transport.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+                lastUsedAt = System.currentTimeMillis();
+            }
+            return transport;
+        }
+    }
+}
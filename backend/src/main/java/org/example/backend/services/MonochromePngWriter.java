@@ -0,0 +1,109 @@
+package org.example.backend.services;
+
+import com.google.zxing.common.BitMatrix;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a {@link BitMatrix} straight to a 1-bit grayscale PNG, skipping the
+ * BufferedImage + ImageIO round trip MatrixToImageWriter does.
+ */
+final class MonochromePngWriter {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte FILTER_NONE = 0;
+    private static final byte FILTER_UP = 2;
+
+    private MonochromePngWriter() {
+    }
+
+    static byte[] write(BitMatrix matrix) {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        int rowBytes = (width + 7) >>> 3;
+
+        // Scaled QR codes repeat each row many times; an "Up" filtered copy of the
+        // previous row is all zeros and deflates to almost nothing.
+        byte[] scanlines = new byte[(rowBytes + 1) * height];
+        byte[] previous = null;
+        byte[] row = new byte[rowBytes];
+        int offset = 0;
+        for (int y = 0; y < height; y++) {
+            packRow(matrix, y, row);
+            if (previous != null && Arrays.equals(previous, row)) {
+                scanlines[offset] = FILTER_UP;
+                offset += rowBytes + 1;
+                continue;
+            }
+            scanlines[offset++] = FILTER_NONE;
+            System.arraycopy(row, 0, scanlines, offset, rowBytes);
+            offset += rowBytes;
+            previous = row.clone();
+        }
+
+        var out = new ByteArrayOutputStream(1024);
+        out.writeBytes(SIGNATURE);
+        writeChunk(out, "IHDR", header(width, height));
+        writeChunk(out, "IDAT", deflate(scanlines));
+        writeChunk(out, "IEND", new byte[0]);
+        return out.toByteArray();
+    }
+
+    // Grayscale bit depth 1: a set module (dark) is 0, background is 1.
+    private static void packRow(BitMatrix matrix, int y, byte[] row) {
+        Arrays.fill(row, (byte) 0);
+        for (int x = 0; x < matrix.getWidth(); x++) {
+            if (!matrix.get(x, y)) {
+                row[x >>> 3] |= (byte) (0x80 >>> (x & 7));
+            }
+        }
+    }
+
+    private static byte[] header(int width, int height) {
+        return new byte[]{
+                (byte) (width >>> 24), (byte) (width >>> 16), (byte) (width >>> 8), (byte) width,
+                (byte) (height >>> 24), (byte) (height >>> 16), (byte) (height >>> 8), (byte) height,
+                1, // bit depth
+                0, // colour type: grayscale
+                0, 0, 0
+        };
+    }
+
+    private static byte[] deflate(byte[] data) {
+        var deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            var out = new ByteArrayOutputStream(data.length / 8 + 64);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeChunk(ByteArrayOutputStream out, String type, byte[] data) {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        writeInt(out, data.length);
+        out.writeBytes(typeBytes);
+        out.writeBytes(data);
+
+        var crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        writeInt(out, (int) crc.getValue());
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+}
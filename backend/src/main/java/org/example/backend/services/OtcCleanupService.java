@@ -1,23 +1,63 @@
 package org.example.backend.services;
 
-import jakarta.transaction.Transactional;
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.backend.config.OtpConfig;
 import org.example.backend.repositories.EmailOtpRepository;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Hourly purge of day-old OTP rows. Deletes go in small batches, each in its own
+ * transaction with a short pause in between, so a backlog after a busy
+ * registration day never turns into one long-running, lock-holding delete.
+ */
 @Service
-@AllArgsConstructor
 public class OtcCleanupService {
 
     private final EmailOtpRepository emailOtpRepository;
+    private final OtpConfig config;
+
+    private final Counter deletedCounter;
+    private final Timer runTimer;
+
+    public OtcCleanupService(EmailOtpRepository emailOtpRepository, OtpConfig config, MeterRegistry meterRegistry) {
+        this.emailOtpRepository = emailOtpRepository;
+        this.config = config;
+        this.deletedCounter = Counter.builder("otp.cleanup.deleted")
+                .description("OTP rows removed by the hourly cleanup")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("otp.cleanup.duration")
+                .description("Duration of one cleanup run, pauses included")
+                .register(meterRegistry);
+    }
 
     @Scheduled(cron = "0 0 * * * *")
-    @Transactional
     public void cleanupOtps() {
         LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
-        emailOtpRepository.deleteCreatedBefore(cutoff);
+        long started = System.nanoTime();
+        try {
+            int deleted;
+            do {
+                deleted = emailOtpRepository.deleteBatchCreatedBefore(cutoff, config.getCleanupBatchSize());
+                deletedCounter.increment(deleted);
+            } while (deleted == config.getCleanupBatchSize() && pause());
+        } finally {
+            runTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(config.getCleanupBatchPauseMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 }
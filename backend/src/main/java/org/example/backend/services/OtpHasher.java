@@ -0,0 +1,12 @@
+package org.example.backend.services;
+
+/**
+ * Hashes the one-time codes kept in email_otps. Codes are short-lived and
+ * attempt-limited, so the hash only has to keep them unreadable in the table;
+ * it does not need a password KDF's cost.
+ */
+public interface OtpHasher {
+    String hash(String otp);
+
+    boolean matches(String otp, String storedHash);
+}
@@ -0,0 +1,92 @@
+package org.example.backend.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.config.OtpConfig;
+import org.example.backend.entities.OtpPurpose;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * In-memory limits on OTP issuance: a cooldown and a sliding window per
+ * (email, purpose), plus a wider window per client IP so one client cannot spray
+ * codes across many addresses. Counts are per node; with several backend nodes
+ * each one enforces the limits on its own share of the traffic.
+ */
+@Component
+public class OtpRateLimiter {
+    private final SlidingWindowLimiter<EmailKey> byEmail;
+    private final SlidingWindowLimiter<String> byClient;
+
+    private final Counter emailRejectedCounter;
+    private final Counter clientRejectedCounter;
+
+    public OtpRateLimiter(OtpConfig config, MeterRegistry meterRegistry) {
+        var window = Duration.ofMinutes(config.getSendWindowMinutes());
+        this.byEmail = new SlidingWindowLimiter<>(config.getMaxSendsInWindow(), window,
+                Duration.ofSeconds(config.getResendCooldownSeconds()), config.getMaxTrackedKeys());
+        this.byClient = new SlidingWindowLimiter<>(config.getMaxSendsPerClientInWindow(), window,
+                Duration.ZERO, config.getMaxTrackedKeys());
+
+        Gauge.builder("otp.rate_limit.keys", this, limiter -> limiter.byEmail.trackedKeys() + limiter.byClient.trackedKeys())
+                .description("Emails and client addresses currently tracked by the OTP limiter")
+                .register(meterRegistry);
+        this.emailRejectedCounter = Counter.builder("otp.rate_limit.rejected")
+                .description("OTP requests refused by the issuance limits")
+                .tag("scope", "email")
+                .register(meterRegistry);
+        this.clientRejectedCounter = Counter.builder("otp.rate_limit.rejected")
+                .description("OTP requests refused by the issuance limits")
+                .tag("scope", "client")
+                .register(meterRegistry);
+    }
+
+    // The client is checked first so that a client over its limit does not also use
+    // up the slots of the address it is targeting.
+    public void acquire(String normalizedEmail, OtpPurpose purpose) {
+        var client = clientAddress();
+        if (client != null && byClient.tryAcquire(client) != SlidingWindowLimiter.Outcome.ALLOWED) {
+            clientRejectedCounter.increment();
+            throw new ResponseStatusException(
+                    HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many OTP requests. Please try again later."
+            );
+        }
+
+        switch (byEmail.tryAcquire(new EmailKey(normalizedEmail, purpose))) {
+            case ALLOWED -> {
+            }
+            case COOLDOWN -> {
+                emailRejectedCounter.increment();
+                throw new ResponseStatusException(
+                        HttpStatus.TOO_MANY_REQUESTS,
+                        "Please wait before requesting another OTP"
+                );
+            }
+            case LIMITED -> {
+                emailRejectedCounter.increment();
+                throw new ResponseStatusException(
+                        HttpStatus.TOO_MANY_REQUESTS,
+                        "Too many OTP requests. Please try again later."
+                );
+            }
+        }
+    }
+
+    // Behind the proxy this is the forwarded client address (server.forward-headers-strategy).
+    private static String clientAddress() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
+    private record EmailKey(String email, OtpPurpose purpose) {
+    }
+}
@@ -1,5 +1,8 @@
 package org.example.backend.services;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import org.example.backend.entities.EmailOtp;
@@ -8,7 +11,6 @@ import org.example.backend.repositories.EmailOtpRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
@@ -19,54 +21,32 @@ import java.time.LocalDateTime;
 public class OtpService {
 
     private final EmailOtpRepository emailOtpRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final OtpHasher otpHasher;
+    private final OtpRateLimiter otpRateLimiter;
+    private final MeterRegistry meterRegistry;
 
     public static final int OTP_EXPIRY_MINUTES = 10;
     private static final int MAX_ATTEMPTS = 5;
 
-    private static final int RESEND_COOLDOWN_SECONDS = 60;
-    private static final int MAX_SENDS_IN_WINDOW = 3;
-    private static final int SEND_WINDOW_MINUTES = 10;
-
     public String createOtp(String email, OtpPurpose purpose) {
         String normalizedEmail = normalizeEmail(email);
 
-        var last = emailOtpRepository
-                .findTopByEmailAndPurposeOrderByCreatedAtDesc(normalizedEmail, purpose)
-                .orElse(null);
-
-        if (last != null && last.getCreatedAt().isAfter(LocalDateTime.now().minusSeconds(RESEND_COOLDOWN_SECONDS))) {
-            throw new ResponseStatusException(
-                    HttpStatus.TOO_MANY_REQUESTS,
-                    "Please wait before requesting another OTP"
-            );
-        }
-
-        long sentCount = emailOtpRepository.countSince(
-                normalizedEmail,
-                purpose,
-                LocalDateTime.now().minusMinutes(SEND_WINDOW_MINUTES)
-        );
-
-        if (sentCount >= MAX_SENDS_IN_WINDOW) {
-            throw new ResponseStatusException(
-                    HttpStatus.TOO_MANY_REQUESTS,
-                    "Too many OTP requests. Please try again later."
-            );
-        }
+        otpRateLimiter.acquire(normalizedEmail, purpose);
 
+        var sample = Timer.start(meterRegistry);
         String otp = generate6DigitOtp();
 
         var emailOtp = EmailOtp.builder()
                 .email(normalizedEmail)
                 .purpose(purpose)
-                .otpHash(passwordEncoder.encode(otp))
+                .otpHash(otpHasher.hash(otp))
                 .expiresAt(LocalDateTime.now().plusMinutes(OTP_EXPIRY_MINUTES))
                 .attempts(0)
                 .createdAt(LocalDateTime.now())
                 .build();
 
         emailOtpRepository.save(emailOtp);
+        sample.stop(otpTimer("otp.issue", purpose));
         return otp;
     }
 
@@ -75,22 +55,40 @@ public class OtpService {
         String normalizedEmail = normalizeEmail(email);
         String normalizedOtp = normalizeOtp(otp);
 
+        var sample = Timer.start(meterRegistry);
+        try {
+            var record = check(normalizedEmail, normalizedOtp, purpose);
+            verified(purpose, "valid");
+            return record;
+        } finally {
+            sample.stop(otpTimer("otp.verify", purpose));
+        }
+    }
+
+    private EmailOtp check(String normalizedEmail, String normalizedOtp, OtpPurpose purpose) {
         var record =  emailOtpRepository
                 .findTopByEmailAndPurposeOrderByCreatedAtDesc(normalizedEmail, purpose)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid OTP."));
+                .orElse(null);
+        if (record == null) {
+            verified(purpose, "missing");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid OTP.");
+        }
 
         if(record.getExpiresAt().isBefore(LocalDateTime.now())) {
             emailOtpRepository.delete(record);
+            verified(purpose, "expired");
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "OTP expired.");
         }
 
         if(record.getAttempts() >= MAX_ATTEMPTS) {
+            verified(purpose, "locked");
             throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many OTP attempts.");
         }
 
-        if(!passwordEncoder.matches(normalizedOtp, record.getOtpHash())) {
+        if(!otpHasher.matches(normalizedOtp, record.getOtpHash())) {
             record.setAttempts(record.getAttempts() + 1);
             emailOtpRepository.save(record);
+            verified(purpose, "invalid");
 
             if(record.getAttempts() >= MAX_ATTEMPTS) {
                 throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many OTP attempts.");
@@ -105,6 +103,22 @@ public class OtpService {
         emailOtpRepository.delete(emailOtp);
     }
 
+    private Timer otpTimer(String name, OtpPurpose purpose) {
+        return Timer.builder(name)
+                .tag("purpose", purpose.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    // valid, invalid (wrong code), expired, locked (out of attempts) or missing.
+    private void verified(OtpPurpose purpose, String outcome) {
+        Counter.builder("otp.verifications")
+                .description("OTP checks by outcome")
+                .tag("purpose", purpose.name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
     private String generate6DigitOtp() {
         return String.valueOf(new SecureRandom().nextInt(900000) + 100000);
     }
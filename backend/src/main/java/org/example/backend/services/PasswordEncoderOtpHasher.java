@@ -0,0 +1,23 @@
+package org.example.backend.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * OTP hashing through the password encoder (BCrypt). Kept to verify rows written
+ * before {@link HmacOtpHasher}; those expire within minutes of a deploy.
+ */
+@RequiredArgsConstructor
+public class PasswordEncoderOtpHasher implements OtpHasher {
+    private final PasswordEncoder passwordEncoder;
+
+    @Override
+    public String hash(String otp) {
+        return passwordEncoder.encode(otp);
+    }
+
+    @Override
+    public boolean matches(String otp, String storedHash) {
+        return passwordEncoder.matches(otp, storedHash);
+    }
+}
@@ -1,28 +1,54 @@
 package org.example.backend.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.WriterException;
-import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.util.UUID;
 
 @Service
 public class QrCodeService {
+    private static final int QR_SIZE = 300;
+    private static final long CACHE_MAX_BYTES = 16L * 1024 * 1024;
+
+    private final QRCodeWriter writer = new QRCodeWriter();
+    private final Cache<String, byte[]> pngCache = Caffeine.newBuilder()
+            .maximumWeight(CACHE_MAX_BYTES)
+            .weigher((String content, byte[] png) -> content.length() + png.length)
+            .recordStats()
+            .build();
+
+    private final Timer renderTimer;
+
+    public QrCodeService(MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, pngCache, "qrPng");
+        this.renderTimer = Timer.builder("qr.render")
+                .description("Encoding and PNG-writing one QR code (cache misses only)")
+                .register(meterRegistry);
+    }
+
+    public byte[] getPng(UUID qrToken) {
+        return generatePng(qrToken.toString());
+    }
 
     public byte[] generatePng(String content) {
-        try {
-            QRCodeWriter writer = new QRCodeWriter();
-            BitMatrix matrix = writer.encode(content, BarcodeFormat.QR_CODE, 300, 300);
+        return pngCache.get(content, this::render);
+    }
 
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            MatrixToImageWriter.writeToStream(matrix, "PNG", out);
-            return out.toByteArray();
-        } catch (WriterException | IOException e) {
+    byte[] render(String content) {
+        var sample = Timer.start();
+        try {
+            return MonochromePngWriter.write(writer.encode(content, BarcodeFormat.QR_CODE, QR_SIZE, QR_SIZE));
+        } catch (WriterException e) {
             throw new RuntimeException("Failed to generate QR PNG", e);
+        } finally {
+            sample.stop(renderTimer);
         }
     }
 }
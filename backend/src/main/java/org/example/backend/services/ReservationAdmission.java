@@ -0,0 +1,136 @@
+package org.example.backend.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.example.backend.config.ReservationAdmissionConfig;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serialises reservation changes per (user, event) so the per-user stall limit is
+ * counted and enforced by one request at a time. The lock is taken inside the
+ * caller's transaction and released when that transaction completes, so the next
+ * request counts rows the previous one already committed.
+ */
+@Component
+public class ReservationAdmission {
+    private static final long ADVISORY_POLL_MILLIS = 10;
+
+    private final ReservationAdmissionConfig config;
+    private final EntityManager entityManager;
+    private final ReentrantLock[] stripes;
+
+    private final Timer waitTimer;
+    private final Counter contendedCounter;
+    private final Counter rejectedCounter;
+
+    public ReservationAdmission(ReservationAdmissionConfig config, EntityManager entityManager, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.entityManager = entityManager;
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, config.getStripes() - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+
+        var mode = config.getMode().name().toLowerCase();
+        this.waitTimer = Timer.builder("reservation.admission.wait")
+                .description("Time spent waiting for the per-user reservation lock")
+                .tag("mode", mode)
+                .register(meterRegistry);
+        this.contendedCounter = Counter.builder("reservation.admission.contended")
+                .description("Admissions that had to wait for another request of the same user and event")
+                .tag("mode", mode)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("reservation.admission.rejected")
+                .description("Admissions that timed out waiting for the lock")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    public void admit(Long userId, Integer eventId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Reservation admission requires an active transaction.");
+        }
+
+        long started = System.nanoTime();
+        boolean acquired = config.getMode() == ReservationAdmissionConfig.Mode.ADVISORY
+                ? acquireAdvisory(key(userId, eventId))
+                : acquireLocal(key(userId, eventId));
+        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            rejectedCounter.increment();
+            throw new ResponseStatusException(
+                    HttpStatus.TOO_MANY_REQUESTS,
+                    "Another reservation request is in progress. Please try again."
+            );
+        }
+    }
+
+    private boolean acquireLocal(long key) {
+        var lock = stripes[Long.hashCode(key * 0x9E3779B97F4A7C15L) & (stripes.length - 1)];
+        if (!lock.tryLock()) {
+            contendedCounter.increment();
+            try {
+                if (!lock.tryLock(config.getLockTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        // afterCompletion runs on the thread that committed or rolled back, which is the
+        // thread that took the lock.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+        return true;
+    }
+
+    // Transaction-scoped advisory locks are released by Postgres on commit or rollback.
+    // Polling with the try variant keeps the wait bounded without touching lock_timeout,
+    // which would also apply to the stall claim later in the same transaction.
+    private boolean acquireAdvisory(long key) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getLockTimeoutMillis());
+        boolean contended = false;
+        while (true) {
+            var locked = (Boolean) entityManager
+                    .createNativeQuery("select pg_try_advisory_xact_lock(:key)")
+                    .setParameter("key", key)
+                    .getSingleResult();
+            if (Boolean.TRUE.equals(locked)) {
+                return true;
+            }
+            if (!contended) {
+                contended = true;
+                contendedCounter.increment();
+            }
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(ADVISORY_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private static long key(Long userId, Integer eventId) {
+        return ((long) eventId << 32) | (userId & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.backend.services;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dtos.GenreDto;
+import org.example.backend.dtos.ReservationDto;
+import org.example.backend.dtos.StallDto;
+import org.example.backend.entities.ReservationStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the employee reservation listing straight to the response as NDJSON or
+ * CSV. Reservations go out one by one as the read model assembles them, so memory
+ * stays flat however many rows match.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationExporter {
+    private static final String CSV_HEADER = "id,eventId,userId,status,reservationDate,qrToken,stalls,genres";
+
+    private final ReservationReadModel reservationReadModel;
+    private final JsonMapper jsonMapper;
+
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final MediaType mediaType;
+
+        Format(String mediaType) {
+            this.mediaType = MediaType.parseMediaType(mediaType);
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("format must be ndjson or csv.");
+            }
+        }
+    }
+
+    @Transactional
+    public void export(Integer eventId, ReservationStatus status, Long userId, Format format, OutputStream out)
+            throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try {
+            reservationReadModel.forEach(eventId, status, userId, null, null, reservation -> {
+                try {
+                    if (format == Format.CSV) {
+                        writeCsv(writer, reservation);
+                    } else {
+                        writer.write(jsonMapper.writeValueAsString(reservation));
+                        writer.write('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static void writeCsv(Writer writer, ReservationDto reservation) throws IOException {
+        writer.write(String.valueOf(reservation.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(reservation.getEventId()));
+        writer.write(',');
+        writer.write(String.valueOf(reservation.getUserId()));
+        writer.write(',');
+        writer.write(reservation.getStatus().name());
+        writer.write(',');
+        writer.write(String.valueOf(reservation.getReservationDate()));
+        writer.write(',');
+        writer.write(String.valueOf(reservation.getQrToken()));
+        writer.write(',');
+        writer.write(csvField(reservation.getStalls().stream()
+                .map(StallDto::getStallCode)
+                .collect(Collectors.joining(";"))));
+        writer.write(',');
+        writer.write(csvField(reservation.getGenres().stream()
+                .map(GenreDto::getName)
+                .collect(Collectors.joining(";"))));
+        writer.write('\n');
+    }
+
+    // Spreadsheets evaluate a cell starting with one of these as a formula, so such
+    // values are prefixed with a quote to keep them plain text.
+    private static String csvField(String value) {
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.backend.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Meters for the reservation funnel: one timer per operation and outcome, and a
+ * counter per business rule that turned a request down. Timings cover the service
+ * call inside its transaction; the commit shows up in http.server.requests.
+ */
+@Component
+public class ReservationMetrics {
+    public enum Rejection {
+        MAX_STALLS, STALL_COUNT, INVALID_STALLS, ALREADY_RESERVED, HELD_BY_OTHER, EVENT_NOT_ACTIVE, EVENT_ENDED;
+
+        private String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Rejection, Counter> rejectionCounters = new EnumMap<>(Rejection.class);
+
+    public ReservationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (var rejection : Rejection.values()) {
+            rejectionCounters.put(rejection, Counter.builder("reservation.rejected")
+                    .description("Reservation requests refused by a business rule")
+                    .tag("reason", rejection.tag())
+                    .register(meterRegistry));
+        }
+    }
+
+    // outcome is "success", "rejected" (a 4xx the caller can act on) or "error".
+    public <T> T record(String operation, Supplier<T> action) {
+        var sample = Timer.start(meterRegistry);
+        var outcome = "error";
+        try {
+            var result = action.get();
+            outcome = "success";
+            return result;
+        } catch (IllegalArgumentException | ResponseStatusException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("reservation.operation")
+                    .description("Reservation service calls")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    public IllegalArgumentException rejected(Rejection rejection, String message) {
+        rejectionCounters.get(rejection).increment();
+        return new IllegalArgumentException(message);
+    }
+}
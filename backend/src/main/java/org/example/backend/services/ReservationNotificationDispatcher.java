@@ -0,0 +1,82 @@
+package org.example.backend.services;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.entities.ReservationStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Service
+@AllArgsConstructor
+public class ReservationNotificationDispatcher {
+    private static final int BATCH_SIZE = 20;
+    // Well inside ReservationNotificationService.CLAIM_LEASE, so no other node can
+    // claim the batch while this one is still waiting on it.
+    private static final Duration BATCH_TIMEOUT = Duration.ofSeconds(60);
+
+    private final ReservationNotificationService notificationService;
+    private final QrCodeService qrCodeService;
+    private final EmailService emailService;
+
+    @Scheduled(fixedDelay = 2000)
+    public void dispatchDue() {
+        // Hand the whole batch to the mail queue first so it can go out over one
+        // SMTP connection, then record each outcome.
+        var inFlight = new LinkedHashMap<Long, CompletableFuture<Void>>();
+        for (var notificationId : notificationService.claimDue(BATCH_SIZE)) {
+            inFlight.put(notificationId, dispatch(notificationId));
+        }
+
+        long deadline = System.nanoTime() + BATCH_TIMEOUT.toNanos();
+        inFlight.forEach((notificationId, sent) -> {
+            try {
+                sent.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                notificationService.markSent(notificationId);
+            } catch (ExecutionException e) {
+                failed(notificationId, e.getCause());
+            } catch (InterruptedException | TimeoutException e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                // The mail is still queued and may yet go out. Failing the row now would
+                // send it twice, so keep it leased and settle it once the send completes.
+                notificationService.extendLease(notificationId);
+                sent.whenComplete((ignored, error) -> {
+                    if (error == null) {
+                        notificationService.markSent(notificationId);
+                    } else {
+                        failed(notificationId, error instanceof CompletionException ? error.getCause() : error);
+                    }
+                });
+            }
+        });
+    }
+
+    private void failed(Long notificationId, Throwable error) {
+        var cause = error instanceof Exception e ? e : new RuntimeException(error);
+        log.warn("Reservation notification {} failed: {}", notificationId, cause.getMessage());
+        notificationService.markFailed(notificationId, cause);
+    }
+
+    private CompletableFuture<Void> dispatch(Long notificationId) {
+        try {
+            var reservation = notificationService.loadReservation(notificationId);
+            if (reservation == null || reservation.getStatus() == ReservationStatus.CANCELLED) {
+                return CompletableFuture.completedFuture(null);
+            }
+            byte[] qrPng = qrCodeService.generatePng(reservation.getQrToken().toString());
+            return emailService.sendReservationConfirmation(reservation.getUser(), reservation, qrPng);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.backend.services;
+
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.example.backend.entities.NotificationStatus;
+import org.example.backend.entities.Reservation;
+import org.example.backend.entities.ReservationNotification;
+import org.example.backend.repositories.ReservationNotificationRepository;
+import org.example.backend.repositories.ReservationRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class ReservationNotificationService {
+    public static final int MAX_ATTEMPTS = 8;
+    private static final Duration CLAIM_LEASE = Duration.ofMinutes(2);
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ReservationNotificationRepository notificationRepository;
+    private final ReservationRepository reservationRepository;
+
+    @Transactional
+    public void enqueue(Reservation reservation) {
+        notificationRepository.save(ReservationNotification.builder()
+                .reservationId(reservation.getId())
+                .build());
+    }
+
+    @Transactional
+    public List<Long> claimDue(int limit) {
+        var now = LocalDateTime.now();
+        var due = notificationRepository.lockDue(now, limit);
+
+        // Push the claimed rows into the future so another poller (or node) skips
+        // them while this one is sending; a crash simply lets the lease expire.
+        due.forEach(notification -> notification.setNextAttemptAt(now.plus(CLAIM_LEASE)));
+        return due.stream().map(ReservationNotification::getId).toList();
+    }
+
+    // For a mail that is still queued when the dispatcher stops waiting for it.
+    @Transactional
+    public void extendLease(Long notificationId) {
+        notificationRepository.findById(notificationId).ifPresent(notification ->
+                notification.setNextAttemptAt(LocalDateTime.now().plus(CLAIM_LEASE)));
+    }
+
+    @Transactional
+    public Reservation loadReservation(Long notificationId) {
+        var notification = notificationRepository.findById(notificationId).orElseThrow();
+        return reservationRepository.findByIdWithStalls(notification.getReservationId());
+    }
+
+    @Transactional
+    public void markSent(Long notificationId) {
+        notificationRepository.findById(notificationId).ifPresent(notification -> {
+            notification.setStatus(NotificationStatus.SENT);
+            notification.setAttempts(notification.getAttempts() + 1);
+            notification.setLastError(null);
+        });
+    }
+
+    @Transactional
+    public void markFailed(Long notificationId, Exception error) {
+        notificationRepository.findById(notificationId).ifPresent(notification -> {
+            int attempts = notification.getAttempts() + 1;
+            notification.setAttempts(attempts);
+            notification.setLastError(truncate(error.getMessage()));
+
+            if (attempts >= MAX_ATTEMPTS) {
+                notification.setStatus(NotificationStatus.FAILED);
+            } else {
+                notification.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+            }
+        });
+    }
+
+    private Duration backoff(int attempts) {
+        var delay = BASE_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 16));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private String truncate(String message) {
+        if (message == null) return null;
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.backend.services;
+
+import org.example.backend.dtos.ReservationDto;
+
+import java.util.List;
+
+// nextCursor is the afterId for the following page, or null on the last page.
+public record ReservationPage(List<ReservationDto> items, Long nextCursor) {
+}
@@ -0,0 +1,123 @@
+package org.example.backend.services;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dtos.GenreDto;
+import org.example.backend.dtos.ReservationDto;
+import org.example.backend.dtos.StallDto;
+import org.example.backend.entities.ReservationStatus;
+import org.example.backend.repositories.ReservationGenreRow;
+import org.example.backend.repositories.ReservationRepository;
+import org.example.backend.repositories.ReservationStallRow;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Builds reservation listings from two flat, id-ordered row streams (stalls and
+ * genres) instead of hydrating Reservation entity graphs. Both streams are walked
+ * once, side by side, so no per-reservation lookup map is needed.
+ * Must be called inside a transaction; the row streams are backed by open cursors.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationReadModel {
+    private final ReservationRepository reservationRepository;
+
+    public List<ReservationDto> find(Integer eventId, ReservationStatus status, Long userId) {
+        var result = new ArrayList<ReservationDto>();
+        forEach(eventId, status, userId, null, null, result::add);
+        return result;
+    }
+
+    // One keyset page of at most `limit` reservations with ids after `afterId`. The
+    // page ids are resolved first so the limit applies to reservations, not rows.
+    public List<ReservationDto> findPage(Integer eventId, ReservationStatus status, Long userId, Long afterId, int limit) {
+        var ids = reservationRepository.findPageIds(eventId, status, userId, afterId, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        var result = new ArrayList<ReservationDto>(ids.size());
+        forEach(eventId, status, userId, afterId, ids.get(ids.size() - 1), result::add);
+        return result;
+    }
+
+    // Hands each reservation to the sink as soon as its last row has been read, so
+    // callers that write straight to a response never hold more than one DTO.
+    public void forEach(Integer eventId, ReservationStatus status, Long userId, Long afterId, Long lastId,
+                        Consumer<ReservationDto> sink) {
+        try (var stallRows = reservationRepository.streamStallRows(eventId, status, userId, afterId, lastId);
+             var genreRows = reservationRepository.streamGenreRows(eventId, status, userId, afterId, lastId)) {
+            assemble(stallRows.iterator(), genreRows.iterator(), sink);
+        }
+    }
+
+    static void assemble(Iterator<ReservationStallRow> stallRows, Iterator<ReservationGenreRow> genreRows,
+                         Consumer<ReservationDto> sink) {
+        var genre = genreRows.hasNext() ? genreRows.next() : null;
+
+        ReservationDto current = null;
+        long currentId = 0;
+        boolean includeInactive = false;
+        while (stallRows.hasNext()) {
+            var row = stallRows.next();
+            if (current == null || row.reservationId() != currentId) {
+                if (current != null) {
+                    sink.accept(current);
+                }
+                currentId = row.reservationId();
+                current = toReservationDto(row);
+                includeInactive = row.status() == ReservationStatus.CANCELLED;
+
+                // Genre rows only exist for reservations that also have a stall row,
+                // so anything with a smaller id can be skipped.
+                while (genre != null && genre.reservationId() < currentId) {
+                    genre = genreRows.hasNext() ? genreRows.next() : null;
+                }
+                while (genre != null && genre.reservationId() == currentId) {
+                    current.getGenres().add(toGenreDto(genre));
+                    genre = genreRows.hasNext() ? genreRows.next() : null;
+                }
+            }
+
+            if (row.stallId() != null && (includeInactive || Boolean.TRUE.equals(row.active()))) {
+                current.getStalls().add(toStallDto(row));
+            }
+        }
+        if (current != null) {
+            sink.accept(current);
+        }
+    }
+
+    private static ReservationDto toReservationDto(ReservationStallRow row) {
+        var dto = new ReservationDto();
+        dto.setId(row.reservationId());
+        dto.setEventId(row.eventId());
+        dto.setUserId(row.userId());
+        dto.setStatus(row.status());
+        dto.setReservationDate(row.reservationDate());
+        dto.setQrToken(row.qrToken());
+        dto.setStalls(new ArrayList<>(3));
+        dto.setGenres(new ArrayList<>(2));
+        return dto;
+    }
+
+    private static StallDto toStallDto(ReservationStallRow row) {
+        var dto = new StallDto();
+        dto.setId(row.stallId());
+        dto.setStallCode(row.stallCode());
+        dto.setSize(row.size());
+        dto.setXPosition(row.xPosition());
+        dto.setYPosition(row.yPosition());
+        return dto;
+    }
+
+    private static GenreDto toGenreDto(ReservationGenreRow row) {
+        var dto = new GenreDto();
+        dto.setId(row.genreId().longValue());
+        dto.setName(row.genreName());
+        return dto;
+    }
+}
@@ -5,19 +5,29 @@ import lombok.AllArgsConstructor;
 import org.example.backend.dtos.GenreDto;
 import org.example.backend.dtos.MakeReservationRequest;
 import org.example.backend.dtos.ReservationDto;
+import org.example.backend.dtos.StallHoldDto;
 import org.example.backend.entities.*;
 import org.example.backend.mappers.GenreMapper;
 import org.example.backend.mappers.ReservationMapper;
+import org.example.backend.mappers.StallMapper;
 import org.example.backend.repositories.*;
+import org.example.backend.services.ReservationMetrics.Rejection;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @AllArgsConstructor
 public class ReservationService {
+    public static final int MAXIMUM_STALLS_PER_USER = 3;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final StallRepository stallRepository;
@@ -25,10 +35,16 @@ public class ReservationService {
     private final ReservationRepository reservationRepository;
     private final ReservationStallRepository reservationStallRepository;
     private final ReservationMapper reservationMapper;
+    private final ReservationReadModel reservationReadModel;
     private final GenreMapper genreMapper;
-    private final QrCodeService qrCodeService;
-    private final EmailService emailService;
+    private final StallMapper stallMapper;
+    private final ReservationNotificationService reservationNotificationService;
+    private final ReservationAdmission reservationAdmission;
+    private final StallHoldRegistry stallHoldRegistry;
+    private final StallAvailabilityIndex stallAvailabilityIndex;
     private final AuthService authService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReservationMetrics reservationMetrics;
 
     @Transactional
     public List<ReservationDto> listReservations(Long userId, Integer eventId) {
@@ -37,32 +53,45 @@ public class ReservationService {
             throw new IllegalArgumentException("Only business user can view reservations.");
         }
 
-        var reservations = eventId == null
-                ? reservationRepository.findAllByUserIdWithStalls(userId)
-                : reservationRepository.findAllByUserIdAndEventIdWithStalls(userId, eventId);
-
-        return reservations.stream()
-                .map(reservationMapper::toDto)
-                .toList();
+        return reservationReadModel.find(eventId, null, userId);
     }
 
     @Transactional
     public List<ReservationDto> listReservationsFiltered(Integer eventId, ReservationStatus status, Long userId) {
+        requireEventIfPresent(eventId);
+        return reservationReadModel.find(eventId, status, userId);
+    }
+
+    @Transactional
+    public ReservationPage listReservationsPage(Integer eventId, ReservationStatus status, Long userId,
+                                                Long afterId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        requireEventIfPresent(eventId);
+
+        // One extra row tells us whether there is a next page without a count query.
+        var items = reservationReadModel.findPage(eventId, status, userId, afterId, limit + 1);
+        if (items.size() <= limit) {
+            return new ReservationPage(items, null);
+        }
+        items = items.subList(0, limit);
+        return new ReservationPage(items, items.get(limit - 1).getId());
+    }
+
+    public void requireEventIfPresent(Integer eventId) {
         if (eventId != null) {
             eventRepository.findById(eventId)
                     .orElseThrow(() -> new IllegalArgumentException("Event not found"));
         }
-
-        var reservations = reservationRepository.findAllWithFilters(eventId, status, userId);
-        return reservations.stream()
-                .map(reservationMapper::toDto)
-                .toList();
     }
 
     @Transactional
     public ReservationDto makeReservation(Long userId, MakeReservationRequest request) {
-        final int MAXIMUM_STALLS_PER_USER = 3;
+        return reservationMetrics.record("make", () -> reserve(userId, request));
+    }
 
+    private ReservationDto reserve(Long userId, MakeReservationRequest request) {
         var user = userRepository.findById(userId).orElseThrow(() -> new IllegalArgumentException("User not found"));
         if(user.getRole() != Role.USER) {
             throw new IllegalArgumentException("Only business user can make reservations.");
@@ -70,35 +99,32 @@ public class ReservationService {
 
         var event = eventRepository.findById(request.getEventId()).orElseThrow(() -> new IllegalArgumentException("Event not found"));
         if (event.getStatus() != EventStatus.ACTIVE) {
-            throw new IllegalArgumentException("Event is not active.");
+            throw reservationMetrics.rejected(Rejection.EVENT_NOT_ACTIVE, "Event is not active.");
         }
         ensureEventNotEnded(event);
 
         var requestedStallIds = request.getStallIds().stream().distinct().toList();
         if(requestedStallIds.isEmpty() || requestedStallIds.size() > MAXIMUM_STALLS_PER_USER) {
-            throw new  IllegalArgumentException("You must reserve 1 to 3 stalls.");
+            throw reservationMetrics.rejected(Rejection.STALL_COUNT, "You must reserve 1 to 3 stalls.");
         }
 
         var stalls = stallRepository.findAllById(requestedStallIds);
         if(stalls.size() != requestedStallIds.size()) {
-            throw new IllegalArgumentException("One or more stall IDs are invalid");
+            throw reservationMetrics.rejected(Rejection.INVALID_STALLS, "One or more stall IDs are invalid");
+        }
+
+        if (stallHoldRegistry.anyHeldByOthers(request.getEventId(), requestedStallIds, userId)) {
+            throw reservationMetrics.rejected(Rejection.HELD_BY_OTHER, "One or more stalls are held by another user.");
         }
 
+        reservationAdmission.admit(userId, request.getEventId());
         long alreadyConfirmedActiveCount = reservationRepository.countActiveConfirmedStallsForUserInEvent(
                 userId,
                 request.getEventId()
         );
 
         if(alreadyConfirmedActiveCount + requestedStallIds.size() > MAXIMUM_STALLS_PER_USER) {
-            throw new IllegalArgumentException("Max 3 stalls per event.");
-        }
-
-        boolean anyToken = reservationStallRepository.anyActiveReservedInEvent(
-                request.getEventId(),
-                requestedStallIds
-        );
-        if(anyToken) {
-            throw new IllegalArgumentException("One or more stalls are already reserved.");
+            throw reservationMetrics.rejected(Rejection.MAX_STALLS, "Max 3 stalls per event.");
         }
 
         var reservation = Reservation.builder()
@@ -108,39 +134,113 @@ public class ReservationService {
                 .build();
 
         reservation = reservationRepository.save(reservation);
+        claimStalls(reservation, requestedStallIds);
+        eventPublisher.publishEvent(StallAvailabilityChanged.reserved(event.getId(), requestedStallIds));
 
-        for(var stall: stalls) {
-            var rs = new ReservationStall(
-                    reservation,
-                    stall,
-                    event,
-                    true
-            );
-            reservation.getReservationStalls().add(rs);
+        reservationNotificationService.enqueue(reservation);
+
+        // The stall rows were written by the claim statement, not through the entity, so
+        // the DTO gets its stalls from what was just validated.
+        var dto = reservationMapper.toDto(reservation);
+        dto.setStalls(stalls.stream().map(stallMapper::toDto).toList());
+        return dto;
+    }
+
+    // Holds are validated like a reservation but only touch the in-memory registry;
+    // the database is written once, when the hold is confirmed.
+    @Transactional
+    public StallHoldDto placeHold(Long userId, MakeReservationRequest request) {
+        return reservationMetrics.record("hold", () -> hold(userId, request));
+    }
+
+    private StallHoldDto hold(Long userId, MakeReservationRequest request) {
+        var user = userRepository.findById(userId).orElseThrow(() -> new IllegalArgumentException("User not found"));
+        if(user.getRole() != Role.USER) {
+            throw new IllegalArgumentException("Only business user can make reservations.");
         }
 
-        reservationRepository.save(reservation);
+        var event = eventRepository.findById(request.getEventId()).orElseThrow(() -> new IllegalArgumentException("Event not found"));
+        if (event.getStatus() != EventStatus.ACTIVE) {
+            throw reservationMetrics.rejected(Rejection.EVENT_NOT_ACTIVE, "Event is not active.");
+        }
+        ensureEventNotEnded(event);
+
+        var requestedStallIds = request.getStallIds().stream().distinct().sorted().toList();
+        if(requestedStallIds.isEmpty() || requestedStallIds.size() > MAXIMUM_STALLS_PER_USER) {
+            throw reservationMetrics.rejected(Rejection.STALL_COUNT, "You must reserve 1 to 3 stalls.");
+        }
+
+        if(stallRepository.findAllById(requestedStallIds).size() != requestedStallIds.size()) {
+            throw reservationMetrics.rejected(Rejection.INVALID_STALLS, "One or more stall IDs are invalid");
+        }
+
+        long alreadyConfirmedActiveCount = reservationRepository.countActiveConfirmedStallsForUserInEvent(
+                userId,
+                request.getEventId()
+        );
+        if(alreadyConfirmedActiveCount + requestedStallIds.size() > MAXIMUM_STALLS_PER_USER) {
+            throw reservationMetrics.rejected(Rejection.MAX_STALLS, "Max 3 stalls per event.");
+        }
 
-        sendReservationQr(user, reservation);
-        return reservationMapper.toDto(reservation);
+        if (stallAvailabilityIndex.anyReserved(event.getId(), requestedStallIds)) {
+            throw reservationMetrics.rejected(Rejection.ALREADY_RESERVED, "One or more stalls are already reserved.");
+        }
+
+        var hold = stallHoldRegistry.place(userId, event.getId(), requestedStallIds);
+        return toHoldDto(hold);
+    }
+
+    @Transactional
+    public ReservationDto confirmHold(Long userId, UUID holdId) {
+        return reservationMetrics.record("confirm", () -> confirm(userId, holdId));
+    }
+
+    private ReservationDto confirm(Long userId, UUID holdId) {
+        var hold = stallHoldRegistry.require(holdId, userId);
+
+        var request = new MakeReservationRequest();
+        request.setEventId(hold.eventId());
+        request.setStallIds(hold.stallIds());
+        var reservation = reserve(userId, request);
+
+        // Keep the hold if the reservation rolls back, so the user can simply retry. On
+        // commit it is released from afterCompletion, after the availability listeners
+        // have marked the stalls reserved, so they never show as free in between.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    stallHoldRegistry.release(hold);
+                }
+            }
+        });
+        return reservation;
+    }
+
+    public void releaseHold(Long userId, UUID holdId) {
+        stallHoldRegistry.release(holdId, userId);
     }
 
     @Transactional
     public ReservationDto cancelReservation(Long userId, Long reservationId) {
-        var reservation = requireOwnedReservation(
-                userId,
-                reservationId,
-                "User can only cancel own reservation."
-        );
+        return reservationMetrics.record("cancel", () -> {
+            var reservation = requireOwnedReservation(
+                    userId,
+                    reservationId,
+                    "User can only cancel own reservation."
+            );
 
-        return getReservationDto(reservationId, reservation);
+            return getReservationDto(reservationId, reservation);
+        });
     }
 
     @Transactional
     public ReservationDto cancelReservation(Long reservationId) {
-        var reservation = reservationRepository.findById(reservationId).orElseThrow(() -> new IllegalArgumentException("Reservation not found"));
+        return reservationMetrics.record("cancel", () -> {
+            var reservation = reservationRepository.findById(reservationId).orElseThrow(() -> new IllegalArgumentException("Reservation not found"));
 
-        return getReservationDto(reservationId, reservation);
+            return getReservationDto(reservationId, reservation);
+        });
     }
 
     private ReservationDto getReservationDto(Long reservationId, Reservation reservation) {
@@ -148,9 +248,11 @@ public class ReservationService {
             return reservationMapper.toDto(reservation);
         }
 
+        var releasedStallIds = reservationStallRepository.findActiveStallIds(reservationId);
         reservation.setStatus(ReservationStatus.CANCELLED);
         reservationStallRepository.deactivateByReservationId(reservationId);
         reservationRepository.save(reservation);
+        eventPublisher.publishEvent(StallAvailabilityChanged.released(reservation.getEvent().getId(), releasedStallIds));
 
         var fresh = reservationRepository.findByIdWithStalls(reservationId);
         return reservationMapper.toDto(fresh);
@@ -159,20 +261,23 @@ public class ReservationService {
 
     @Transactional
     public ReservationDto updateReservation(Long userId, Long reservationId, List<Long> newStallIds) {
-        final int MAX_STALLS_PER_USER = 3;
+        return reservationMetrics.record("update", () -> update(userId, reservationId, newStallIds));
+    }
 
+    private ReservationDto update(Long userId, Long reservationId, List<Long> newStallIds) {
         var reservation = requireOwnedConfirmedActiveReservation(
                 userId,
                 reservationId
         );
 
         var distinctNew = newStallIds.stream().distinct().toList();
-        if(distinctNew.isEmpty() || distinctNew.size() > MAX_STALLS_PER_USER) {
-            throw new IllegalArgumentException("You must reserve 1 to 3 stalls.");
+        if(distinctNew.isEmpty() || distinctNew.size() > MAXIMUM_STALLS_PER_USER) {
+            throw reservationMetrics.rejected(Rejection.STALL_COUNT, "You must reserve 1 to 3 stalls.");
         }
 
 
 
+        reservationAdmission.admit(userId, reservation.getEvent().getId());
         var currentActive = reservationStallRepository.findActiveStallIds(reservationId);
 
         int currentCount = currentActive.size();
@@ -180,8 +285,8 @@ public class ReservationService {
         int delta = newCount - currentCount;
         long alreadyActive = reservationRepository.countActiveConfirmedStallsForUserInEvent(userId, reservation.getEvent().getId());
         long newTotal = alreadyActive + delta;
-        if(newTotal > MAX_STALLS_PER_USER) {
-            throw new IllegalArgumentException("Max 3 stalls per event.");
+        if(newTotal > MAXIMUM_STALLS_PER_USER) {
+            throw reservationMetrics.rejected(Rejection.MAX_STALLS, "Max 3 stalls per event.");
         }
 
 
@@ -189,33 +294,19 @@ public class ReservationService {
         var toAdd = distinctNew.stream().filter(id -> !currentActive.contains(id)).toList();
 
 
-        if (!toAdd.isEmpty()) {
-            boolean anyTaken = reservationStallRepository.anyActiveReservedInEvent(
-                    reservation.getEvent().getId(),
-                    toAdd
-            );
-            if (anyTaken) {
-                throw new IllegalArgumentException("One or more stalls are already reserved.");
-            }
-        }
-
         if (!toRemove.isEmpty()) {
             reservationStallRepository.deleteReservationStalls(reservationId, toRemove);
         }
 
         if (!toAdd.isEmpty()) {
-            var stallsToInsert = stallRepository.findAllById(toAdd);
-            if (stallsToInsert.size() != toAdd.size()) {
-                throw new IllegalArgumentException("One or more stall IDs are invalid");
-            }
-
-            for (var stall : stallsToInsert) {
-                var rs = new ReservationStall(reservation, stall, reservation.getEvent(), true);
-                reservation.getReservationStalls().add(rs);
+            if (stallRepository.findAllById(toAdd).size() != toAdd.size()) {
+                throw reservationMetrics.rejected(Rejection.INVALID_STALLS, "One or more stall IDs are invalid");
             }
+            claimStalls(reservation, toAdd);
         }
 
-        reservationRepository.save(reservation);
+        eventPublisher.publishEvent(new StallAvailabilityChanged(reservation.getEvent().getId(), toAdd, toRemove));
+
         var fresh = reservationRepository.findByIdWithStalls(reservationId);
         return reservationMapper.toDto(fresh);
     }
@@ -258,6 +349,45 @@ public class ReservationService {
                 .toList();
     }
 
+    // Only a confirmed reservation has a usable entry code.
+    @Transactional
+    public UUID getReservationQrToken(Long userId, Long reservationId) {
+        var reservation = requireOwnedReservation(
+                userId,
+                reservationId,
+                "User can only view own reservation."
+        );
+        if (reservation.getStatus() != ReservationStatus.CONFIRMED) {
+            throw new IllegalArgumentException("Reservation is not confirmed.");
+        }
+        return reservation.getQrToken();
+    }
+
+    private StallHoldDto toHoldDto(StallHold hold) {
+        var dto = new StallHoldDto();
+        dto.setHoldId(hold.id());
+        dto.setEventId(hold.eventId());
+        dto.setStallIds(hold.stallIds());
+        dto.setExpiresAt(hold.expiresAt());
+        return dto;
+    }
+
+    // All-or-nothing: if any stall was taken, the exception rolls back the whole
+    // transaction, including the rows this claim did insert.
+    private void claimStalls(Reservation reservation, List<Long> stallIds) {
+        // The claim is plain SQL against rows Hibernate may still hold back (the new
+        // reservation, pooled ids), so write them out first instead of relying on auto-flush.
+        reservationStallRepository.flush();
+        var claimed = reservationStallRepository.claimStalls(
+                reservation.getId(),
+                reservation.getEvent().getId(),
+                stallIds
+        );
+        if (claimed.size() != stallIds.size()) {
+            throw reservationMetrics.rejected(Rejection.ALREADY_RESERVED, "One or more stalls are already reserved.");
+        }
+    }
+
     private Reservation requireOwnedConfirmedActiveReservation(Long userId, Long reservationId) {
         var reservation = requireOwnedReservation(userId, reservationId, "User can only update own reservation.");
 
@@ -266,7 +396,7 @@ public class ReservationService {
         }
 
         if (reservation.getEvent().getStatus() != EventStatus.ACTIVE) {
-            throw new IllegalArgumentException("Event is not active.");
+            throw reservationMetrics.rejected(Rejection.EVENT_NOT_ACTIVE, "Event is not active.");
         }
 
         ensureEventNotEnded(reservation.getEvent());
@@ -286,16 +416,6 @@ public class ReservationService {
         return reservation;
     }
 
-    private void sendReservationQr(User user, Reservation reservation) {
-        try {
-            String qrString = reservation.getQrToken().toString();
-            byte[] qrPng = qrCodeService.generatePng(qrString);
-            emailService.sendReservationConfirmation(user, reservation, qrPng);
-        } catch (Exception e) {
-            System.err.println("QR email failed: " + e.getMessage());
-        }
-    }
-
     private void ensureEventNotEnded(Event event) {
         var endDate = event.getEndDate();
         if (endDate == null) {
@@ -304,7 +424,7 @@ public class ReservationService {
         var today = LocalDate.now(ZoneId.systemDefault());
         var endLocalDate = endDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
         if (endLocalDate.isBefore(today)) {
-            throw new IllegalArgumentException("Event end date has passed.");
+            throw reservationMetrics.rejected(Rejection.EVENT_ENDED, "Event end date has passed.");
         }
     }
 
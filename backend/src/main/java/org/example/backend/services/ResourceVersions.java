@@ -0,0 +1,118 @@
+package org.example.backend.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters behind the ETags of the public catalogue and map endpoints.
+ * Each resource remembers the value of one shared, monotonically increasing
+ * sequence at its last change; the boot epoch keeps tags from a previous run from
+ * matching.
+ * <p>
+ * A change first evicts the Spring caches holding the resource and only then bumps
+ * its version; controllers read the version before loading the data. The worst a
+ * race can do is send a fresh body under an older tag (costing one extra download
+ * later), never a 304 for stale data. Callers report a change after it is committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResourceVersions {
+    private static final String EVENTS = "events";
+    private static final String GENRES = "genres";
+    private static final String STALLS = "stalls";
+
+    private final CacheManager cacheManager;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Object, Long> versions = new ConcurrentHashMap<>();
+
+    public String eventsTag() {
+        return tag(version(EVENTS));
+    }
+
+    public String eventTag(Integer eventId) {
+        return tag(version(new EventKey(eventId)));
+    }
+
+    public String genresTag() {
+        return tag(version(GENRES));
+    }
+
+    public String stallsTag() {
+        return tag(version(STALLS));
+    }
+
+    // The availability map also carries the stall layout, so both versions count.
+    public String availabilityTag(Integer eventId) {
+        return tag(version(STALLS) + "." + version(new AvailabilityKey(eventId)));
+    }
+
+    public void eventChanged(Integer eventId) {
+        clear("events");
+        clear("activeEvents");
+        cache("event").evict(eventId);
+        bump(new EventKey(eventId));
+        bump(EVENTS);
+    }
+
+    public void genresChanged() {
+        clear("genres");
+        bump(GENRES);
+    }
+
+    public void stallsChanged() {
+        clear("stalls");
+        bump(STALLS);
+    }
+
+    // Runs after StallAvailabilityIndex has applied the same change.
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onAvailabilityChanged(StallAvailabilityChanged change) {
+        bump(new AvailabilityKey(change.eventId()));
+    }
+
+    // Published by StallHoldRegistry once the hold is already in (or out of) its maps.
+    @EventListener
+    public void onHoldsChanged(StallHoldsChanged change) {
+        bump(new AvailabilityKey(change.eventId()));
+    }
+
+    private void clear(String cacheName) {
+        cache(cacheName).clear();
+    }
+
+    private Cache cache(String cacheName) {
+        return Objects.requireNonNull(cacheManager.getCache(cacheName), cacheName);
+    }
+
+    private void bump(Object key) {
+        versions.merge(key, sequence.incrementAndGet(), Math::max);
+    }
+
+    private long version(Object key) {
+        return versions.getOrDefault(key, 0L);
+    }
+
+    private String tag(Object version) {
+        return "\"" + epoch + "-" + version + "\"";
+    }
+
+    private record EventKey(Integer eventId) {
+    }
+
+    private record AvailabilityKey(Integer eventId) {
+    }
+}
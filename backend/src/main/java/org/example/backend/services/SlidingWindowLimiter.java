@@ -0,0 +1,64 @@
+package org.example.backend.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Allows at most {@code limit} events per key within a sliding {@code window}, and
+ * optionally a minimum {@code cooldown} between two of them. Each key keeps only
+ * the timestamps of its last {@code limit} events, swapped in with a CAS, so
+ * callers never block each other.
+ * <p>
+ * Keys live in a size-bounded Caffeine cache and expire once idle for a whole
+ * window. Evicting a busy key under memory pressure forgets its history, which
+ * errs on the side of letting a request through.
+ */
+class SlidingWindowLimiter<K> {
+    private final int limit;
+    private final long windowNanos;
+    private final long cooldownNanos;
+    private final Cache<K, AtomicReference<long[]>> windows;
+
+    SlidingWindowLimiter(int limit, Duration window, Duration cooldown, long maxKeys) {
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.cooldownNanos = cooldown.toNanos();
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window.compareTo(cooldown) >= 0 ? window : cooldown)
+                .build();
+    }
+
+    enum Outcome { ALLOWED, COOLDOWN, LIMITED }
+
+    Outcome tryAcquire(K key) {
+        var window = windows.get(key, k -> new AtomicReference<>(new long[0]));
+        while (true) {
+            long now = System.nanoTime();
+            var sends = window.get();
+            // sends is oldest first and never longer than limit.
+            if (sends.length > 0 && now - sends[sends.length - 1] < cooldownNanos) {
+                return Outcome.COOLDOWN;
+            }
+            if (sends.length == limit && now - sends[0] < windowNanos) {
+                return Outcome.LIMITED;
+            }
+
+            var next = sends.length == limit
+                    ? Arrays.copyOfRange(sends, 1, limit + 1)
+                    : Arrays.copyOf(sends, sends.length + 1);
+            next[next.length - 1] = now;
+            if (window.compareAndSet(sends, next)) {
+                return Outcome.ALLOWED;
+            }
+        }
+    }
+
+    long trackedKeys() {
+        return windows.estimatedSize();
+    }
+}
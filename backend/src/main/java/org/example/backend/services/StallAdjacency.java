@@ -0,0 +1,178 @@
+package org.example.backend.services;
+
+import org.example.backend.entities.Stall;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.IntPredicate;
+
+/**
+ * Which stalls of a layout sit side by side: their footprints overlap along one axis
+ * and leave at most MAX_GAP empty cells between them along the other. Neighbours are
+ * kept per ordinal in one flat array (offsets into targets), built once per layout
+ * with region queries on its StallGrid.
+ * <p>
+ * Groups are connected sets of one to three stalls. They are ranked by the cells of
+ * their bounding box not covered by a stall (fewer is more compact), then by the
+ * ordinals of their stalls so the order is stable.
+ */
+final class StallAdjacency {
+    static final int MAX_GAP = 1;
+
+    private final List<Stall> stalls;
+    private final int[] offsets;
+    private final int[] targets;
+
+    private StallAdjacency(List<Stall> stalls, int[] offsets, int[] targets) {
+        this.stalls = stalls;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    static StallAdjacency of(StallLayout layout) {
+        int count = layout.size();
+        var offsets = new int[count + 1];
+        var targets = new int[Math.max(16, count * 4)];
+        int used = 0;
+        for (int i = 0; i < count; i++) {
+            var stall = layout.get(i);
+            var neighbours = new ArrayList<Integer>();
+            layout.grid().forEachIn(
+                    left(stall) - MAX_GAP - 1, top(stall) - MAX_GAP - 1,
+                    right(stall) + MAX_GAP + 1, bottom(stall) + MAX_GAP + 1,
+                    other -> {
+                        if (!other.getId().equals(stall.getId()) && sideBySide(stall, other)) {
+                            neighbours.add(layout.ordinalOf(other.getId()));
+                        }
+                    });
+            neighbours.sort(null);
+            if (used + neighbours.size() > targets.length) {
+                targets = Arrays.copyOf(targets, Math.max(targets.length * 2, used + neighbours.size()));
+            }
+            for (int neighbour : neighbours) {
+                targets[used++] = neighbour;
+            }
+            offsets[i + 1] = used;
+        }
+        return new StallAdjacency(layout.stalls(), offsets, Arrays.copyOf(targets, used));
+    }
+
+    // The `limit` best groups of `size` usable stalls, best first, as ordinals.
+    List<int[]> bestGroups(int size, IntPredicate usable, int limit) {
+        // Worst of the kept groups on top, so it is the one replaced.
+        var kept = new PriorityQueue<Group>(limit + 1, GROUP_ORDER.reversed());
+        for (int a = 0; a < stalls.size(); a++) {
+            if (!usable.test(a)) {
+                continue;
+            }
+            if (size == 1) {
+                offer(kept, limit, a, -1, -1);
+                continue;
+            }
+            for (int i = offsets[a]; i < offsets[a + 1]; i++) {
+                int b = targets[i];
+                if (!usable.test(b)) {
+                    continue;
+                }
+                if (size == 2) {
+                    if (a < b) offer(kept, limit, a, b, -1);
+                    continue;
+                }
+                // Paths b-a-c with `a` in the middle. A triangle has three possible
+                // middles; only the smallest ordinal reports it. Both ends touching
+                // `a` may still overlap each other if the layout itself overlaps.
+                for (int j = i + 1; j < offsets[a + 1]; j++) {
+                    int c = targets[j];
+                    if (!usable.test(c) || (adjacent(b, c) && Math.min(b, c) < a)
+                            || overlap(stalls.get(b), stalls.get(c))) {
+                        continue;
+                    }
+                    offer(kept, limit, a, b, c);
+                }
+            }
+        }
+
+        var result = new ArrayList<>(kept);
+        result.sort(GROUP_ORDER);
+        return result.stream().map(Group::ordinals).toList();
+    }
+
+    int wastedCells(int[] ordinals) {
+        return wastedCells(ordinals[0], ordinals.length > 1 ? ordinals[1] : -1, ordinals.length > 2 ? ordinals[2] : -1);
+    }
+
+    // b and c are -1 for smaller groups.
+    private int wastedCells(int a, int b, int c) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        int covered = 0;
+        for (int ordinal : new int[]{a, b, c}) {
+            if (ordinal < 0) {
+                continue;
+            }
+            var stall = stalls.get(ordinal);
+            minX = Math.min(minX, left(stall));
+            minY = Math.min(minY, top(stall));
+            maxX = Math.max(maxX, right(stall));
+            maxY = Math.max(maxY, bottom(stall));
+            covered += stall.getSize().width() * stall.getSize().height();
+        }
+        return (maxX - minX + 1) * (maxY - minY + 1) - covered;
+    }
+
+    private boolean adjacent(int a, int b) {
+        return Arrays.binarySearch(targets, offsets[a], offsets[a + 1], b) >= 0;
+    }
+
+    // Most candidates lose on wasted cells alone, so the group is only built once it
+    // could make the cut.
+    private void offer(PriorityQueue<Group> kept, int limit, int a, int b, int c) {
+        int wasted = wastedCells(a, b, c);
+        if (kept.size() == limit && wasted > kept.peek().wastedCells()) {
+            return;
+        }
+        var ordinals = c >= 0 ? new int[]{a, b, c} : b >= 0 ? new int[]{a, b} : new int[]{a};
+        Arrays.sort(ordinals);
+        var group = new Group(ordinals, wasted);
+        if (kept.size() < limit) {
+            kept.add(group);
+        } else if (GROUP_ORDER.compare(group, kept.peek()) < 0) {
+            kept.poll();
+            kept.add(group);
+        }
+    }
+
+    private static boolean overlap(Stall a, Stall b) {
+        return left(a) <= right(b) && left(b) <= right(a) && top(a) <= bottom(b) && top(b) <= bottom(a);
+    }
+
+    private static boolean sideBySide(Stall a, Stall b) {
+        int gapX = Math.max(left(b) - right(a), left(a) - right(b)) - 1;
+        int gapY = Math.max(top(b) - bottom(a), top(a) - bottom(b)) - 1;
+        return (gapX < 0 && gapY >= 0 && gapY <= MAX_GAP) || (gapY < 0 && gapX >= 0 && gapX <= MAX_GAP);
+    }
+
+    private static int left(Stall stall) {
+        return stall.getXPosition();
+    }
+
+    private static int top(Stall stall) {
+        return stall.getYPosition();
+    }
+
+    private static int right(Stall stall) {
+        return stall.getXPosition() + stall.getSize().width() - 1;
+    }
+
+    private static int bottom(Stall stall) {
+        return stall.getYPosition() + stall.getSize().height() - 1;
+    }
+
+    private static final Comparator<Group> GROUP_ORDER = Comparator.comparingInt(Group::wastedCells)
+            .thenComparing(Group::ordinals, Arrays::compare);
+
+    private record Group(int[] ordinals, int wastedCells) {
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.backend.services;
+
+import java.util.List;
+
+public record StallAvailabilityChanged(
+        Integer eventId,
+        List<Long> reservedStallIds,
+        List<Long> releasedStallIds
+) {
+    public static StallAvailabilityChanged reserved(Integer eventId, List<Long> stallIds) {
+        return new StallAvailabilityChanged(eventId, List.copyOf(stallIds), List.of());
+    }
+
+    public static StallAvailabilityChanged released(Integer eventId, List<Long> stallIds) {
+        return new StallAvailabilityChanged(eventId, List.of(), List.copyOf(stallIds));
+    }
+
+    public boolean isEmpty() {
+        return reservedStallIds.isEmpty() && releasedStallIds.isEmpty();
+    }
+}
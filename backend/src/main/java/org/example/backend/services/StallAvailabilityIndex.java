@@ -0,0 +1,216 @@
+package org.example.backend.services;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dtos.StallAvailabilityDto;
+import org.example.backend.dtos.StallRecommendationDto;
+import org.example.backend.entities.Size;
+import org.example.backend.entities.Stall;
+import org.example.backend.mappers.StallMapper;
+import org.example.backend.repositories.ReservationStallRepository;
+import org.example.backend.repositories.StallRepository;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory view of which stalls are reserved per event. Reads are served from an
+ * immutable layout plus a copy-on-write bitset per event; Postgres is only queried
+ * the first time an event is requested and after a bulk change to the stall layout.
+ * Single stall edits are applied to the cached layout in place (see stallSaved).
+ */
+@Component
+@RequiredArgsConstructor
+public class StallAvailabilityIndex {
+    private final StallRepository stallRepository;
+    private final ReservationStallRepository reservationStallRepository;
+    private final StallMapper stallMapper;
+
+    private final Map<Integer, EventOccupancy> occupancies = new ConcurrentHashMap<>();
+    private volatile StallLayout layout;
+
+    // Bumped (under the monitor) on every write so a concurrent cold load can tell
+    // that what it read from the database may already be stale.
+    private long modifications;
+
+    public boolean isLoaded(Integer eventId) {
+        var occupancy = occupancies.get(eventId);
+        return occupancy != null && occupancy.layout() == layout;
+    }
+
+    public List<StallAvailabilityDto> getAvailability(Integer eventId) {
+        var occupancy = occupancy(eventId);
+        var current = occupancy.layout();
+        var words = occupancy.words();
+
+        var result = new ArrayList<StallAvailabilityDto>(current.size());
+        for (int i = 0; i < current.size(); i++) {
+            result.add(stallMapper.toAvailabilityDto(current.get(i), StallLayout.isSet(words, i)));
+        }
+        return result;
+    }
+
+    // Stalls overlapping the inclusive cell rectangle, in the same order as the full list.
+    public List<StallAvailabilityDto> getAvailability(Integer eventId, int minX, int minY, int maxX, int maxY) {
+        var occupancy = occupancy(eventId);
+        var current = occupancy.layout();
+        var words = occupancy.words();
+
+        var ordinals = new ArrayList<Integer>();
+        current.grid().forEachIn(minX, minY, maxX, maxY, stall -> ordinals.add(current.ordinalOf(stall.getId())));
+        ordinals.sort(null);
+
+        var result = new ArrayList<StallAvailabilityDto>(ordinals.size());
+        for (int ordinal : ordinals) {
+            result.add(stallMapper.toAvailabilityDto(current.get(ordinal), StallLayout.isSet(words, ordinal)));
+        }
+        return result;
+    }
+
+    // The free stall of the given size closest to cell (x, y), or null if there is none.
+    public StallAvailabilityDto nearestFree(Integer eventId, int x, int y, Size size, Set<Long> excludedStallIds) {
+        var occupancy = occupancy(eventId);
+        var current = occupancy.layout();
+        var words = occupancy.words();
+
+        var stall = current.grid().nearest(x, y, candidate -> candidate.getSize() == size
+                && !StallLayout.isSet(words, current.ordinalOf(candidate.getId()))
+                && !excludedStallIds.contains(candidate.getId()));
+        return stall == null ? null : stallMapper.toAvailabilityDto(stall, false);
+    }
+
+    // The most compact groups of `count` adjacent, free stalls of the given size.
+    public List<StallRecommendationDto> recommend(Integer eventId, int count, Size size, Set<Long> excludedStallIds,
+                                                  int limit) {
+        var occupancy = occupancy(eventId);
+        var current = occupancy.layout();
+        var words = occupancy.words();
+
+        var usable = new long[current.wordCount()];
+        for (int i = 0; i < current.size(); i++) {
+            var stall = current.get(i);
+            if (stall.getSize() == size && !StallLayout.isSet(words, i) && !excludedStallIds.contains(stall.getId())) {
+                usable[i >>> 6] |= 1L << i;
+            }
+        }
+
+        var adjacency = current.adjacency();
+        var result = new ArrayList<StallRecommendationDto>(limit);
+        for (var group : adjacency.bestGroups(count, ordinal -> StallLayout.isSet(usable, ordinal), limit)) {
+            var stalls = new ArrayList<StallAvailabilityDto>(group.length);
+            for (int ordinal : group) {
+                stalls.add(stallMapper.toAvailabilityDto(current.get(ordinal), false));
+            }
+            result.add(new StallRecommendationDto(stalls, adjacency.wastedCells(group)));
+        }
+        return result;
+    }
+
+    public boolean anyReserved(Integer eventId, Collection<Long> stallIds) {
+        var occupancy = occupancy(eventId);
+        for (var stallId : stallIds) {
+            int ordinal = occupancy.layout().ordinalOf(stallId);
+            if (ordinal >= 0 && StallLayout.isSet(occupancy.words(), ordinal)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onAvailabilityChanged(StallAvailabilityChanged change) {
+        apply(change);
+    }
+
+    public synchronized void apply(StallAvailabilityChanged change) {
+        modifications++;
+        var occupancy = occupancies.get(change.eventId());
+        if (occupancy == null) {
+            return;
+        }
+
+        var current = occupancy.layout();
+        var words = occupancy.words().clone();
+        for (var stallId : change.reservedStallIds()) {
+            int ordinal = current.ordinalOf(stallId);
+            if (ordinal >= 0) words[ordinal >>> 6] |= 1L << ordinal;
+        }
+        for (var stallId : change.releasedStallIds()) {
+            int ordinal = current.ordinalOf(stallId);
+            if (ordinal >= 0) words[ordinal >>> 6] &= ~(1L << ordinal);
+        }
+        occupancies.put(change.eventId(), new EventOccupancy(current, words));
+    }
+
+    // Called after a single stall was created or updated and committed.
+    public synchronized void stallSaved(Stall stall) {
+        relayout(current -> current.with(stall));
+    }
+
+    public synchronized void stallRemoved(Long stallId) {
+        relayout(current -> current.without(stallId));
+    }
+
+    private void relayout(UnaryOperator<StallLayout> change) {
+        modifications++;
+        var current = layout;
+        if (current == null) {
+            return;
+        }
+        var next = change.apply(current);
+        occupancies.values().removeIf(occupancy -> occupancy.layout() != current);
+        occupancies.replaceAll((eventId, occupancy) ->
+                new EventOccupancy(next, next.remap(occupancy.words(), current)));
+        layout = next;
+    }
+
+    public synchronized void invalidateLayout() {
+        modifications++;
+        layout = null;
+        occupancies.clear();
+    }
+
+    private EventOccupancy occupancy(Integer eventId) {
+        var current = layout;
+        var occupancy = occupancies.get(eventId);
+        if (occupancy != null && occupancy.layout() == current) {
+            return occupancy;
+        }
+        return load(eventId);
+    }
+
+    private EventOccupancy load(Integer eventId) {
+        long seen;
+        StallLayout current;
+        synchronized (this) {
+            seen = modifications;
+            current = layout;
+        }
+
+        if (current == null) {
+            current = StallLayout.of(stallRepository.findAll());
+        }
+        var reservedIds = reservationStallRepository.findActiveReservedStallIdsByEvent(eventId);
+        var loaded = new EventOccupancy(current, current.toBits(reservedIds));
+
+        synchronized (this) {
+            if (modifications == seen) {
+                layout = current;
+                occupancies.put(eventId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private record EventOccupancy(StallLayout layout, long[] words) {
+    }
+}
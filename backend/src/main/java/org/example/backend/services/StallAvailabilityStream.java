@@ -0,0 +1,203 @@
+package org.example.backend.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Registry of open availability streams. Idle connections hold no thread (they are
+ * plain servlet async requests). Every subscriber has its own bounded queue, drained
+ * by one sender at a time so it sees its snapshot and the following deltas in commit
+ * order; a subscriber whose queue fills up is too slow to keep up and is dropped, so a
+ * stuck connection only ever ties up one sender thread until the container's write
+ * timeout fails it.
+ */
+@Component
+@RequiredArgsConstructor
+public class StallAvailabilityStream {
+    private static final long EMITTER_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+    private static final int MAX_SUBSCRIBERS = 10_000;
+    private static final int MAX_PENDING_EVENTS = 256;
+    private static final int SENDER_THREADS = 4;
+
+    private final StallAvailabilityIndex stallAvailabilityIndex;
+    private final StallHoldRegistry stallHoldRegistry;
+    private final JsonMapper jsonMapper;
+
+    private final Map<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> open = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger senderCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newFixedThreadPool(SENDER_THREADS, runnable -> {
+        var thread = new Thread(runnable, "stall-stream-sender-" + senderCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record Delta(Integer eventId, List<Long> reserved, List<Long> released) {
+    }
+
+    private record Holds(Integer eventId, List<Long> held, List<Long> released) {
+    }
+
+    public SseEmitter subscribe(Integer eventId) {
+        if (open.size() >= MAX_SUBSCRIBERS) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open stall streams.");
+        }
+
+        var subscriber = new Subscriber(eventId, new SseEmitter(EMITTER_TIMEOUT_MILLIS));
+        var emitter = subscriber.emitter;
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(subscriber));
+
+        // Registered before the snapshot is read so no committed change falls between
+        // the two; deltas queue up behind the snapshot and repeat at most what it shows.
+        open.add(subscriber);
+        subscribers.computeIfAbsent(eventId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        try {
+            var snapshot = stallHoldRegistry.markHeld(eventId, stallAvailabilityIndex.getAvailability(eventId));
+            subscriber.start(SseEmitter.event().name("snapshot").data(snapshot, MediaType.APPLICATION_JSON));
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        return emitter;
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onAvailabilityChanged(StallAvailabilityChanged change) {
+        if (change.isEmpty()) {
+            return;
+        }
+        var payload = jsonMapper.writeValueAsString(
+                new Delta(change.eventId(), change.reservedStallIds(), change.releasedStallIds()));
+        broadcast(change.eventId(), () -> SseEmitter.event().name("delta").data(payload));
+    }
+
+    @EventListener
+    public void onHoldsChanged(StallHoldsChanged change) {
+        var payload = jsonMapper.writeValueAsString(
+                new Holds(change.eventId(), change.heldStallIds(), change.releasedStallIds()));
+        broadcast(change.eventId(), () -> SseEmitter.event().name("hold").data(payload));
+    }
+
+    @Scheduled(fixedRate = 20_000)
+    public void heartbeat() {
+        open.forEach(subscriber -> subscriber.enqueue(SseEmitter.event().comment("ping")));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        open.forEach(subscriber -> subscriber.emitter.complete());
+        open.clear();
+        subscribers.clear();
+    }
+
+    // SseEventBuilder is single-use, so every subscriber gets a freshly built event.
+    private void broadcast(Integer eventId, Supplier<SseEmitter.SseEventBuilder> event) {
+        var eventSubscribers = subscribers.get(eventId);
+        if (eventSubscribers == null) {
+            return;
+        }
+        eventSubscribers.forEach(subscriber -> subscriber.enqueue(event.get()));
+    }
+
+    private void remove(Subscriber subscriber) {
+        open.remove(subscriber);
+        var eventSubscribers = subscribers.get(subscriber.eventId);
+        if (eventSubscribers != null) {
+            eventSubscribers.remove(subscriber);
+        }
+    }
+
+    private final class Subscriber {
+        private final Integer eventId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(MAX_PENDING_EVENTS);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile SseEmitter.SseEventBuilder snapshot;
+        private volatile boolean started;
+
+        private Subscriber(Integer eventId, SseEmitter emitter) {
+            this.eventId = eventId;
+            this.emitter = emitter;
+        }
+
+        void start(SseEmitter.SseEventBuilder snapshot) {
+            this.snapshot = snapshot;
+            started = true;
+            schedule();
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (!pending.offer(event)) {
+                drop(new IOException("Subscriber fell more than " + MAX_PENDING_EVENTS + " events behind."));
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (started && draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RuntimeException e) {
+                    drop(e);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                var first = snapshot;
+                if (first != null) {
+                    snapshot = null;
+                    emitter.send(first);
+                }
+                for (var event = pending.poll(); event != null; event = pending.poll()) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                drop(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event queued after the last poll but before the flag was cleared.
+            if (!pending.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void drop(Throwable cause) {
+            remove(this);
+            pending.clear();
+            emitter.completeWithError(cause);
+        }
+    }
+}
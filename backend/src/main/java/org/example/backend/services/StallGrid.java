@@ -0,0 +1,209 @@
+package org.example.backend.services;
+
+import org.example.backend.entities.Stall;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Immutable uniform grid over stall footprints. The map is cut into square buckets
+ * of BUCKET cells and every stall is listed in each bucket its footprint touches, so
+ * a region query only looks at the buckets it overlaps. Updates copy the bucket map
+ * and rewrite only the buckets of the stall that changed; the stall arrays of every
+ * other bucket are shared with the previous grid.
+ */
+final class StallGrid {
+    static final int BUCKET = 16;
+
+    private static final Stall[] NONE = new Stall[0];
+
+    private final Map<Long, Stall[]> buckets;
+    // Bucket bounds of everything ever added; may be larger than needed after removals.
+    private final int minBx, minBy, maxBx, maxBy;
+
+    private StallGrid(Map<Long, Stall[]> buckets, int minBx, int minBy, int maxBx, int maxBy) {
+        this.buckets = buckets;
+        this.minBx = minBx;
+        this.minBy = minBy;
+        this.maxBx = maxBx;
+        this.maxBy = maxBy;
+    }
+
+    static StallGrid of(Collection<Stall> stalls) {
+        var buckets = new HashMap<Long, Stall[]>();
+        int minBx = Integer.MAX_VALUE, minBy = Integer.MAX_VALUE, maxBx = Integer.MIN_VALUE, maxBy = Integer.MIN_VALUE;
+        for (var stall : stalls) {
+            add(buckets, stall);
+            minBx = Math.min(minBx, bucket(left(stall)));
+            minBy = Math.min(minBy, bucket(top(stall)));
+            maxBx = Math.max(maxBx, bucket(right(stall)));
+            maxBy = Math.max(maxBy, bucket(bottom(stall)));
+        }
+        return new StallGrid(buckets, minBx, minBy, maxBx, maxBy);
+    }
+
+    // Either argument may be null (pure insert or pure removal).
+    StallGrid with(Stall removed, Stall added) {
+        var copy = new HashMap<>(buckets);
+        if (removed != null) {
+            forEachBucket(removed, key -> {
+                var remaining = Arrays.stream(copy.getOrDefault(key, NONE))
+                        .filter(s -> !s.getId().equals(removed.getId()))
+                        .toArray(Stall[]::new);
+                if (remaining.length == 0) copy.remove(key);
+                else copy.put(key, remaining);
+            });
+        }
+        if (added == null) {
+            return new StallGrid(copy, minBx, minBy, maxBx, maxBy);
+        }
+        add(copy, added);
+        return new StallGrid(copy,
+                Math.min(minBx, bucket(left(added))), Math.min(minBy, bucket(top(added))),
+                Math.max(maxBx, bucket(right(added))), Math.max(maxBy, bucket(bottom(added))));
+    }
+
+    // Every stall whose footprint overlaps the inclusive cell rectangle, each once.
+    void forEachIn(int minX, int minY, int maxX, int maxY, Consumer<Stall> action) {
+        int fromBx = Math.max(bucket(minX), minBx), toBx = Math.min(bucket(maxX), maxBx);
+        int fromBy = Math.max(bucket(minY), minBy), toBy = Math.min(bucket(maxY), maxBy);
+        for (int bx = fromBx; bx <= toBx; bx++) {
+            for (int by = fromBy; by <= toBy; by++) {
+                for (var stall : buckets.getOrDefault(key(bx, by), NONE)) {
+                    if (right(stall) < minX || left(stall) > maxX || bottom(stall) < minY || top(stall) > maxY) {
+                        continue;
+                    }
+                    // A stall spanning several buckets is reported only from the first
+                    // bucket it shares with the query.
+                    if (bx == Math.max(fromBx, bucket(left(stall))) && by == Math.max(fromBy, bucket(top(stall)))) {
+                        action.accept(stall);
+                    }
+                }
+            }
+        }
+    }
+
+    // Closest matching stall to the cell (x, y), by distance to its footprint; ties go
+    // to the lower id. Searches rings of buckets outwards from the layout bucket
+    // nearest to (x, y) and stops as soon as no unvisited bucket can hold anything
+    // closer. Once the rings would cover more buckets than the grid has, one pass over
+    // every bucket is cheaper, so the work is bounded by the grid, not by (x, y).
+    Stall nearest(int x, int y, Predicate<Stall> filter) {
+        if (buckets.isEmpty()) {
+            return null;
+        }
+        // Every stall lies inside the bucket bounds, so starting from the clamped
+        // bucket keeps the distance bound below valid for points off the map.
+        int cx = clamp(bucket(x), minBx, maxBx), cy = clamp(bucket(y), minBy, maxBy);
+        int maxRing = Math.max(Math.max(cx - minBx, maxBx - cx), Math.max(cy - minBy, maxBy - cy));
+
+        var search = new NearestSearch(x, y, filter);
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Anything not yet seen lies entirely in ring `ring` or further out, at
+            // least (ring - 1) whole buckets away from (x, y).
+            long reach = (long) Math.max(0, ring - 1) * BUCKET;
+            if (search.best != null && reach * reach > search.bestDistance) {
+                break;
+            }
+            long side = 2L * ring + 1;
+            if (side * side > buckets.size()) {
+                buckets.values().forEach(search::visit);
+                break;
+            }
+            if (ring == 0) {
+                search.visit(buckets.getOrDefault(key(cx, cy), NONE));
+                continue;
+            }
+            for (int bx = cx - ring; bx <= cx + ring; bx++) {
+                search.visit(buckets.getOrDefault(key(bx, cy - ring), NONE));
+                search.visit(buckets.getOrDefault(key(bx, cy + ring), NONE));
+            }
+            for (int by = cy - ring + 1; by < cy + ring; by++) {
+                search.visit(buckets.getOrDefault(key(cx - ring, by), NONE));
+                search.visit(buckets.getOrDefault(key(cx + ring, by), NONE));
+            }
+        }
+        return search.best;
+    }
+
+    private static final class NearestSearch {
+        private final int x, y;
+        private final Predicate<Stall> filter;
+        private Stall best;
+        private long bestDistance = Long.MAX_VALUE;
+
+        private NearestSearch(int x, int y, Predicate<Stall> filter) {
+            this.x = x;
+            this.y = y;
+            this.filter = filter;
+        }
+
+        // Seeing a stall twice (it spans several buckets) is harmless.
+        private void visit(Stall[] stalls) {
+            for (var stall : stalls) {
+                long distance = distanceSquared(stall, x, y);
+                if ((distance < bestDistance || distance == bestDistance && stall.getId() < best.getId())
+                        && filter.test(stall)) {
+                    best = stall;
+                    bestDistance = distance;
+                }
+            }
+        }
+    }
+
+    private static long distanceSquared(Stall stall, int x, int y) {
+        long dx = Math.max(0, Math.max((long) left(stall) - x, (long) x - right(stall)));
+        long dy = Math.max(0, Math.max((long) top(stall) - y, (long) y - bottom(stall)));
+        return dx * dx + dy * dy;
+    }
+
+    // Never mutates a bucket array in place; it may be shared with an older grid.
+    private static void add(Map<Long, Stall[]> buckets, Stall stall) {
+        forEachBucket(stall, key -> {
+            var current = buckets.getOrDefault(key, NONE);
+            var grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = stall;
+            buckets.put(key, grown);
+        });
+    }
+
+    private static void forEachBucket(Stall stall, Consumer<Long> action) {
+        for (int bx = bucket(left(stall)); bx <= bucket(right(stall)); bx++) {
+            for (int by = bucket(top(stall)); by <= bucket(bottom(stall)); by++) {
+                action.accept(key(bx, by));
+            }
+        }
+    }
+
+    private static int left(Stall stall) {
+        return stall.getXPosition();
+    }
+
+    private static int top(Stall stall) {
+        return stall.getYPosition();
+    }
+
+    private static int right(Stall stall) {
+        return stall.getXPosition() + stall.getSize().width() - 1;
+    }
+
+    private static int bottom(Stall stall) {
+        return stall.getYPosition() + stall.getSize().height() - 1;
+    }
+
+    private static int bucket(int cell) {
+        return Math.floorDiv(cell, BUCKET);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static long key(int bx, int by) {
+        return ((long) bx << 32) | (by & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.backend.services;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record StallHold(UUID id, Long userId, Integer eventId, List<Long> stallIds, Instant expiresAt) {
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.backend.services;
+
+import lombok.AllArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+public class StallHoldCleanupService {
+
+    private final StallHoldRegistry stallHoldRegistry;
+
+    @Scheduled(fixedDelay = 5_000)
+    public void releaseExpiredHolds() {
+        stallHoldRegistry.releaseExpired();
+    }
+}
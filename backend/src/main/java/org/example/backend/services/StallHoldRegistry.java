@@ -0,0 +1,172 @@
+package org.example.backend.services;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dtos.StallAvailabilityDto;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived, in-memory stall holds. A user holds a selection while deciding, and
+ * nothing is written to the database until the hold is confirmed. Each held stall is
+ * claimed with putIfAbsent, so two users can never hold the same stall; expired holds
+ * can be taken over straight away and are cleaned up by StallHoldCleanupService.
+ */
+@Component
+@RequiredArgsConstructor
+public class StallHoldRegistry {
+    public static final Duration HOLD_TTL = Duration.ofMinutes(5);
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<UUID, StallHold> holds = new ConcurrentHashMap<>();
+    private final Map<HeldStall, StallHold> heldStalls = new ConcurrentHashMap<>();
+    private final Map<UserEvent, UUID> holdIdsByUser = new ConcurrentHashMap<>();
+
+    public StallHold place(Long userId, Integer eventId, List<Long> stallIds) {
+        var now = Instant.now();
+
+        // One hold per user and event: a new selection replaces the previous one. The new
+        // stalls are taken first, over the previous hold where the selections overlap, so
+        // a failed attempt leaves the previous selection held.
+        var userEvent = new UserEvent(userId, eventId);
+        var previousId = holdIdsByUser.get(userEvent);
+        var previous = previousId == null ? null : holds.get(previousId);
+
+        var hold = new StallHold(UUID.randomUUID(), userId, eventId, List.copyOf(stallIds), now.plus(HOLD_TTL));
+        var acquired = new ArrayList<HeldStall>(stallIds.size());
+        var displaced = new HashMap<HeldStall, StallHold>();
+        for (var stallId : hold.stallIds()) {
+            var key = new HeldStall(eventId, stallId);
+            if (!tryHold(key, hold, now, previous, displaced)) {
+                acquired.forEach(k -> {
+                    var owner = displaced.get(k);
+                    if (owner != null) {
+                        heldStalls.replace(k, hold, owner);
+                    } else {
+                        heldStalls.remove(k, hold);
+                    }
+                });
+                throw new IllegalArgumentException("One or more stalls are already reserved or held.");
+            }
+            acquired.add(key);
+        }
+
+        holds.put(hold.id(), hold);
+        // A concurrent place by the same user may have registered its hold in between.
+        var replacedId = holdIdsByUser.put(userEvent, hold.id());
+        if (previous != null) {
+            release(previous);
+        }
+        if (replacedId != null && !replacedId.equals(previousId)) {
+            var replaced = holds.get(replacedId);
+            if (replaced != null) {
+                release(replaced);
+            }
+        }
+        eventPublisher.publishEvent(StallHoldsChanged.held(hold));
+        return hold;
+    }
+
+    public StallHold require(UUID holdId, Long userId) {
+        var hold = holds.get(holdId);
+        if (hold == null || !hold.userId().equals(userId) || hold.isExpired(Instant.now())) {
+            throw new NoSuchElementException("Hold not found or expired.");
+        }
+        return hold;
+    }
+
+    public void release(UUID holdId, Long userId) {
+        release(require(holdId, userId));
+    }
+
+    public void release(StallHold hold) {
+        if (holds.remove(hold.id(), hold)) {
+            holdIdsByUser.remove(new UserEvent(hold.userId(), hold.eventId()), hold.id());
+            // Stalls another hold has since taken over stay held, so they are not announced.
+            var released = hold.stallIds().stream()
+                    .filter(stallId -> heldStalls.remove(new HeldStall(hold.eventId(), stallId), hold))
+                    .toList();
+            if (!released.isEmpty()) {
+                eventPublisher.publishEvent(StallHoldsChanged.released(hold.eventId(), released));
+            }
+        }
+    }
+
+    public int releaseExpired() {
+        var now = Instant.now();
+        var expired = holds.values().stream().filter(hold -> hold.isExpired(now)).toList();
+        expired.forEach(this::release);
+        return expired.size();
+    }
+
+    public boolean anyHeldByOthers(Integer eventId, Collection<Long> stallIds, Long userId) {
+        var now = Instant.now();
+        for (var stallId : stallIds) {
+            var hold = heldStalls.get(new HeldStall(eventId, stallId));
+            if (hold != null && !hold.isExpired(now) && !hold.userId().equals(userId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Set<Long> heldStallIds(Integer eventId) {
+        var now = Instant.now();
+        var held = new HashSet<Long>();
+        heldStalls.forEach((key, hold) -> {
+            if (key.eventId().equals(eventId) && !hold.isExpired(now)) {
+                held.add(key.stallId());
+            }
+        });
+        return held;
+    }
+
+    public List<StallAvailabilityDto> markHeld(Integer eventId, List<StallAvailabilityDto> availability) {
+        var held = heldStallIds(eventId);
+        if (!held.isEmpty()) {
+            availability.forEach(dto -> dto.setHeld(held.contains(dto.getId())));
+        }
+        return availability;
+    }
+
+    // Takes the stall if it is free, its hold has expired, or it belongs to the replaceable
+    // hold; the replaced owner is remembered so a failed place can restore it.
+    private boolean tryHold(HeldStall key, StallHold hold, Instant now,
+                            StallHold replaceable, Map<HeldStall, StallHold> displaced) {
+        while (true) {
+            var existing = heldStalls.putIfAbsent(key, hold);
+            if (existing == null) {
+                return true;
+            }
+            var takeOver = existing == replaceable;
+            if (!takeOver && !existing.isExpired(now)) {
+                return false;
+            }
+            if (heldStalls.replace(key, existing, hold)) {
+                if (takeOver) {
+                    displaced.put(key, existing);
+                }
+                return true;
+            }
+        }
+    }
+
+    private record HeldStall(Integer eventId, Long stallId) {
+    }
+
+    private record UserEvent(Long userId, Integer eventId) {
+    }
+}
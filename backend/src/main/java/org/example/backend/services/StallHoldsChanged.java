@@ -0,0 +1,13 @@
+package org.example.backend.services;
+
+import java.util.List;
+
+public record StallHoldsChanged(Integer eventId, List<Long> heldStallIds, List<Long> releasedStallIds) {
+    public static StallHoldsChanged held(StallHold hold) {
+        return new StallHoldsChanged(hold.eventId(), hold.stallIds(), List.of());
+    }
+
+    public static StallHoldsChanged released(Integer eventId, List<Long> stallIds) {
+        return new StallHoldsChanged(eventId, List.of(), stallIds);
+    }
+}
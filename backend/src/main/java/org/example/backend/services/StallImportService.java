@@ -0,0 +1,249 @@
+package org.example.backend.services;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import org.example.backend.dtos.AddStallRequest;
+import org.example.backend.dtos.StallDto;
+import org.example.backend.dtos.StallImportError;
+import org.example.backend.entities.Size;
+import org.example.backend.exceptions.StallImportException;
+import org.example.backend.mappers.StallMapper;
+import org.example.backend.repositories.StallRepository;
+import org.hibernate.Session;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk stall creation for laying out a hall in one request. Every row is checked
+ * first (bean constraints, duplicate codes and positions within the upload and
+ * against existing stalls) and all problems are reported together; only a clean
+ * upload is written, as batched inserts in a single transaction.
+ */
+@Service
+@AllArgsConstructor
+public class StallImportService {
+    private static final int MAX_ROWS = 5_000;
+    private static final int BATCH_SIZE = 500;
+    private static final List<String> CSV_COLUMNS = List.of("stallcode", "size", "xposition", "yposition");
+
+    private final StallRepository stallRepository;
+    private final StallMapper stallMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final StallAvailabilityIndex stallAvailabilityIndex;
+    private final ResourceVersions resourceVersions;
+
+    public record ParsedStalls(List<AddStallRequest> rows, List<StallImportError> errors) {
+    }
+
+    // Reads the upload line by line. Expects a header naming the four columns (any
+    // order); rows that cannot be parsed are kept as null placeholders so the row
+    // numbers in later errors still line up with the file. Fields are split on plain
+    // commas, so quoted fields are refused rather than split in the wrong place.
+    public ParsedStalls parseCsv(Reader body) throws IOException {
+        var reader = new BufferedReader(body);
+        var header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV upload is empty.");
+        }
+        var columns = headerColumns(header);
+
+        var rows = new ArrayList<AddStallRequest>();
+        var errors = new ArrayList<StallImportError>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (rows.size() == MAX_ROWS) {
+                throw new IllegalArgumentException("At most " + MAX_ROWS + " stalls can be imported at once.");
+            }
+            var fields = line.split(",", -1);
+            try {
+                if (line.indexOf('"') >= 0) {
+                    throw new IllegalArgumentException("Quoted fields are not supported.");
+                }
+                rows.add(parseRow(fields, columns));
+            } catch (IllegalArgumentException e) {
+                rows.add(null);
+                errors.add(new StallImportError(rows.size(), field(fields, columns[0]), e.getMessage()));
+            }
+        }
+        return new ParsedStalls(rows, errors);
+    }
+
+    @Transactional
+    public List<StallDto> importStalls(List<AddStallRequest> rows, List<StallImportError> parseErrors) {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("No stalls to import.");
+        }
+        if (rows.size() > MAX_ROWS) {
+            throw new IllegalArgumentException("At most " + MAX_ROWS + " stalls can be imported at once.");
+        }
+
+        var errors = new ArrayList<>(parseErrors);
+        var failedRows = parseErrors.stream().map(StallImportError::getRow).collect(Collectors.toSet());
+        Map<String, Integer> rowByCode = new HashMap<>();
+        Map<Long, Integer> rowByPosition = new HashMap<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            int rowNumber = i + 1;
+            var row = rows.get(i);
+            if (failedRows.contains(rowNumber)) {
+                continue;
+            }
+            if (row == null) {
+                errors.add(new StallImportError(rowNumber, null, "Row is empty."));
+                continue;
+            }
+
+            var violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                errors.add(new StallImportError(rowNumber, row.getStallCode(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(" "))));
+                continue;
+            }
+
+            var firstWithCode = rowByCode.putIfAbsent(row.getStallCode(), rowNumber);
+            if (firstWithCode != null) {
+                errors.add(new StallImportError(rowNumber, row.getStallCode(),
+                        "Duplicate stall code (also on row " + firstWithCode + ")."));
+                continue;
+            }
+            var firstAtPosition = rowByPosition.putIfAbsent(position(row.getXPosition(), row.getYPosition()), rowNumber);
+            if (firstAtPosition != null) {
+                errors.add(new StallImportError(rowNumber, row.getStallCode(),
+                        "Position is already used by row " + firstAtPosition + "."));
+            }
+        }
+
+        checkAgainstExisting(rowByCode, rowByPosition, rows, errors);
+        if (!errors.isEmpty()) {
+            errors.sort(Comparator.comparingInt(StallImportError::getRow));
+            throw new StallImportException(errors);
+        }
+
+        // Ids come from the pooled sequence, so the inserts go out as JDBC batches
+        // whatever hibernate.jdbc.batch_size the profile sets.
+        entityManager.unwrap(Session.class).setJdbcBatchSize(BATCH_SIZE);
+        var stalls = rows.stream().map(stallMapper::toEntity).toList();
+        stalls.forEach(entityManager::persist);
+        entityManager.flush();
+
+        // Readers must not rebuild the layout or see a new version before the rows
+        // are visible to them.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    stallAvailabilityIndex.invalidateLayout();
+                    resourceVersions.stallsChanged();
+                }
+            }
+        });
+
+        return stalls.stream().map(stallMapper::toDto).toList();
+    }
+
+    private void checkAgainstExisting(Map<String, Integer> rowByCode, Map<Long, Integer> rowByPosition,
+                                      List<AddStallRequest> rows, List<StallImportError> errors) {
+        Set<Integer> reported = new HashSet<>();
+        if (!rowByCode.isEmpty()) {
+            for (var code : stallRepository.findExistingStallCodes(rowByCode.keySet())) {
+                int rowNumber = rowByCode.get(code);
+                reported.add(rowNumber);
+                errors.add(new StallImportError(rowNumber, code, "Stall code already exists."));
+            }
+        }
+
+        jdbcTemplate.query("select stall_code, x_position, y_position from stalls", rs -> {
+            var rowNumber = rowByPosition.get(position(rs.getInt(2), rs.getInt(3)));
+            if (rowNumber != null && reported.add(rowNumber)) {
+                errors.add(new StallImportError(rowNumber, rows.get(rowNumber - 1).getStallCode(),
+                        "Position is already used by stall " + rs.getString(1) + "."));
+            }
+        });
+    }
+
+    private static long position(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    // Column index per CSV_COLUMNS entry.
+    private static int[] headerColumns(String header) {
+        if (header.indexOf('"') >= 0) {
+            throw new IllegalArgumentException("Quoted fields are not supported.");
+        }
+        var names = header.replace("﻿", "").split(",", -1);
+        var columns = new int[CSV_COLUMNS.size()];
+        for (int c = 0; c < columns.length; c++) {
+            columns[c] = -1;
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].trim().replace("_", "").toLowerCase(Locale.ROOT).equals(CSV_COLUMNS.get(c))) {
+                    columns[c] = i;
+                }
+            }
+            if (columns[c] < 0) {
+                throw new IllegalArgumentException("CSV header must contain stallCode,size,xPosition,yPosition.");
+            }
+        }
+        return columns;
+    }
+
+    private static AddStallRequest parseRow(String[] fields, int[] columns) {
+        var request = new AddStallRequest();
+        request.setStallCode(field(fields, columns[0]));
+        var size = field(fields, columns[1]);
+        if (size != null) {
+            try {
+                request.setSize(Size.valueOf(size.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Size must be SMALL, MEDIUM or LARGE.");
+            }
+        }
+        request.setXPosition(intField(fields, columns[2], "X position"));
+        request.setYPosition(intField(fields, columns[3], "Y position"));
+        return request;
+    }
+
+    private static String field(String[] fields, int index) {
+        if (index >= fields.length) {
+            return null;
+        }
+        var value = fields[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer intField(String[] fields, int index, String name) {
+        var value = field(fields, index);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a whole number.");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.backend.services;
+
+import org.example.backend.entities.Stall;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of every stall, sorted by stall code. A stall's position in
+ * this list is its ordinal in the per-event occupancy bitsets. A StallGrid over the
+ * same stalls answers region and nearest-stall queries.
+ */
+public final class StallLayout {
+    private static final Comparator<Stall> ORDER = Comparator.comparing(Stall::getStallCode, String.CASE_INSENSITIVE_ORDER);
+
+    private final List<Stall> stalls;
+    private final Map<Long, Integer> ordinals;
+    private final StallGrid grid;
+    // Built on first use; layouts replaced by a stall edit never pay for it.
+    private volatile StallAdjacency adjacency;
+
+    private StallLayout(List<Stall> stalls, StallGrid grid) {
+        this.stalls = stalls;
+        this.grid = grid;
+        this.ordinals = new HashMap<>(stalls.size() * 2);
+        for (int i = 0; i < stalls.size(); i++) {
+            ordinals.put(stalls.get(i).getId(), i);
+        }
+    }
+
+    public static StallLayout of(Collection<Stall> stalls) {
+        var sorted = stalls.stream()
+                .map(StallLayout::copyOf)
+                .sorted(ORDER)
+                .toList();
+        return new StallLayout(sorted, StallGrid.of(sorted));
+    }
+
+    // The layout after `stall` was created or updated, without going back to the
+    // database. Only the grid buckets under its old and new footprint are rebuilt.
+    public StallLayout with(Stall stall) {
+        var copy = copyOf(stall);
+        int ordinal = ordinalOf(stall.getId());
+        var previous = ordinal >= 0 ? stalls.get(ordinal) : null;
+
+        var next = new ArrayList<>(stalls);
+        if (ordinal >= 0) {
+            next.remove(ordinal);
+        }
+        int index = Collections.binarySearch(next, copy, ORDER);
+        next.add(index >= 0 ? index : -index - 1, copy);
+        return new StallLayout(Collections.unmodifiableList(next), grid.with(previous, copy));
+    }
+
+    public StallLayout without(Long stallId) {
+        int ordinal = ordinalOf(stallId);
+        if (ordinal < 0) {
+            return this;
+        }
+        var next = new ArrayList<>(stalls);
+        var removed = next.remove(ordinal);
+        return new StallLayout(Collections.unmodifiableList(next), grid.with(removed, null));
+    }
+
+    public int size() {
+        return stalls.size();
+    }
+
+    public Stall get(int ordinal) {
+        return stalls.get(ordinal);
+    }
+
+    public List<Stall> stalls() {
+        return stalls;
+    }
+
+    public int ordinalOf(Long stallId) {
+        var ordinal = ordinals.get(stallId);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    StallGrid grid() {
+        return grid;
+    }
+
+    StallAdjacency adjacency() {
+        var current = adjacency;
+        if (current == null) {
+            current = StallAdjacency.of(this);
+            adjacency = current;
+        }
+        return current;
+    }
+
+    // Carries an occupancy bitset of `previous` over to this layout's ordinals.
+    long[] remap(long[] words, StallLayout previous) {
+        var remapped = new long[wordCount()];
+        for (int i = 0; i < previous.size(); i++) {
+            if (isSet(words, i)) {
+                int ordinal = ordinalOf(previous.get(i).getId());
+                if (ordinal >= 0) {
+                    remapped[ordinal >>> 6] |= 1L << ordinal;
+                }
+            }
+        }
+        return remapped;
+    }
+
+    public long[] toBits(Collection<Long> stallIds) {
+        var words = new long[wordCount()];
+        for (var stallId : stallIds) {
+            int ordinal = ordinalOf(stallId);
+            if (ordinal >= 0) {
+                words[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+        return words;
+    }
+
+    int wordCount() {
+        return (stalls.size() + 63) >>> 6;
+    }
+
+    static boolean isSet(long[] words, int ordinal) {
+        return (words[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    private static Stall copyOf(Stall stall) {
+        return Stall.builder()
+                .id(stall.getId())
+                .stallCode(stall.getStallCode())
+                .size(stall.getSize())
+                .xPosition(stall.getXPosition())
+                .yPosition(stall.getYPosition())
+                .build();
+    }
+}
@@ -1,30 +1,41 @@
 package org.example.backend.services;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import org.example.backend.dtos.AddStallRequest;
 import org.example.backend.dtos.StallAvailabilityDto;
 import org.example.backend.dtos.StallDto;
+import org.example.backend.dtos.StallRecommendationDto;
+import org.example.backend.entities.Size;
 import org.example.backend.entities.Stall;
 import org.example.backend.mappers.StallMapper;
 import org.example.backend.repositories.EventRepository;
-import org.example.backend.repositories.ReservationStallRepository;
 import org.example.backend.repositories.StallRepository;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class StallService {
+    private static final int MAX_RECOMMENDATIONS = 50;
+    // Far beyond any hall; keeps the squared distances of the search well inside a long.
+    private static final int MAX_QUERY_COORDINATE = 1_000_000;
+
     private final EventRepository eventRepository;
     private final StallRepository stallRepository;
-    private final ReservationStallRepository reservationStallRepository;
     private final StallMapper stallMapper;
+    private final StallAvailabilityIndex stallAvailabilityIndex;
+    private final StallHoldRegistry stallHoldRegistry;
+    private final StallAvailabilityStream stallAvailabilityStream;
+    private final ResourceVersions resourceVersions;
+    private final MeterRegistry meterRegistry;
 
+    @Cacheable("stalls")
     public List<StallDto> listStalls() {
         return stallRepository.findAll().stream()
                 .map(stallMapper::toDto)
@@ -38,6 +49,8 @@ public class StallService {
     public StallDto createStall(AddStallRequest request) {
         var stall = stallMapper.toEntity(request);
         stall = stallRepository.save(stall);
+        stallAvailabilityIndex.stallSaved(stall);
+        resourceVersions.stallsChanged();
         return stallMapper.toDto(stall);
     }
 
@@ -45,28 +58,85 @@ public class StallService {
         var stall = findStallById(id);
         stallMapper.update(request, stall);
         stall = stallRepository.save(stall);
+        stallAvailabilityIndex.stallSaved(stall);
+        resourceVersions.stallsChanged();
         return stallMapper.toDto(stall);
     }
 
     public void deleteStall(Long id) {
         var stall = findStallById(id);
         stallRepository.delete(stall);
+        stallAvailabilityIndex.stallRemoved(stall.getId());
+        resourceVersions.stallsChanged();
     }
 
     public List<StallAvailabilityDto> listStallAvailability(Integer eventId) {
-        eventRepository.findById(eventId)
-                .orElseThrow(() -> new NoSuchElementException("Event not found."));
-        return buildAvailability(eventId);
+        return availabilityTimer("full").record(() -> {
+            ensureEventExists(eventId);
+            return stallHoldRegistry.markHeld(eventId, stallAvailabilityIndex.getAvailability(eventId));
+        });
     }
 
-    private List<StallAvailabilityDto> buildAvailability(Integer eventId) {
-        List<Long> reservedIds = reservationStallRepository.findActiveReservedStallIdsByEvent(eventId);
-        Set<Long> reservedSet = new HashSet<>(reservedIds);
+    // Stalls overlapping the viewport; either all four bounds are given or none.
+    public List<StallAvailabilityDto> listStallAvailability(Integer eventId, Integer minX, Integer minY,
+                                                            Integer maxX, Integer maxY) {
+        if (minX == null && minY == null && maxX == null && maxY == null) {
+            return listStallAvailability(eventId);
+        }
+        if (minX == null || minY == null || maxX == null || maxY == null) {
+            throw new IllegalArgumentException("minX, minY, maxX and maxY must be given together.");
+        }
+        if (minX > maxX || minY > maxY) {
+            throw new IllegalArgumentException("Viewport minimum must not exceed its maximum.");
+        }
+        return availabilityTimer("viewport").record(() -> {
+            ensureEventExists(eventId);
+            return stallHoldRegistry.markHeld(eventId,
+                    stallAvailabilityIndex.getAvailability(eventId, minX, minY, maxX, maxY));
+        });
+    }
 
-        return stallRepository.findAll().stream()
-                .map(stall -> stallMapper.toAvailabilityDto(stall, reservedSet.contains(stall.getId())))
-                .sorted(Comparator.comparing(StallAvailabilityDto::getStallCode, String.CASE_INSENSITIVE_ORDER))
-                .toList();
+    private Timer availabilityTimer(String scope) {
+        return Timer.builder("stall.availability")
+                .description("Building the stall availability map")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    public StallAvailabilityDto findNearestFreeStall(Integer eventId, int x, int y, Size size) {
+        if (Math.abs(x) > MAX_QUERY_COORDINATE || Math.abs(y) > MAX_QUERY_COORDINATE) {
+            throw new IllegalArgumentException("x and y must be between -" + MAX_QUERY_COORDINATE
+                    + " and " + MAX_QUERY_COORDINATE + ".");
+        }
+        ensureEventExists(eventId);
+        var stall = stallAvailabilityIndex.nearestFree(eventId, x, y, size, stallHoldRegistry.heldStallIds(eventId));
+        if (stall == null) {
+            throw new NoSuchElementException("No free stall of that size.");
+        }
+        return stall;
+    }
+
+    public List<StallRecommendationDto> recommendStalls(Integer eventId, int count, Size size, int limit) {
+        if (count < 1 || count > ReservationService.MAXIMUM_STALLS_PER_USER) {
+            throw new IllegalArgumentException("count must be between 1 and " + ReservationService.MAXIMUM_STALLS_PER_USER + ".");
+        }
+        if (limit < 1 || limit > MAX_RECOMMENDATIONS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_RECOMMENDATIONS + ".");
+        }
+        ensureEventExists(eventId);
+        return stallAvailabilityIndex.recommend(eventId, count, size, stallHoldRegistry.heldStallIds(eventId), limit);
+    }
+
+    public SseEmitter streamStallAvailability(Integer eventId) {
+        ensureEventExists(eventId);
+        return stallAvailabilityStream.subscribe(eventId);
+    }
+
+    private void ensureEventExists(Integer eventId) {
+        if (!stallAvailabilityIndex.isLoaded(eventId)) {
+            eventRepository.findById(eventId)
+                    .orElseThrow(() -> new NoSuchElementException("Event not found."));
+        }
     }
 
     private Stall findStallById(Long id) {
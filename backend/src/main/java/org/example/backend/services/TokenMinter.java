@@ -0,0 +1,42 @@
+package org.example.backend.services;
+
+import io.jsonwebtoken.Jwts;
+import org.example.backend.config.JwtConfig;
+import org.example.backend.entities.User;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+
+@Service
+public class TokenMinter {
+    private final JwtConfig jwtConfig;
+    private final SecretKey secretKey;
+
+    public TokenMinter(JwtConfig jwtConfig) {
+        this.jwtConfig = jwtConfig;
+        this.secretKey = jwtConfig.getSecretKey();
+    }
+
+    public Jwt mintAccessToken(User user) {
+        return mint(user, jwtConfig.getAccessTokenExpiration());
+    }
+
+    public Jwt mintRefreshToken(User user) {
+        return mint(user, jwtConfig.getRefreshTokenExpiration());
+    }
+
+    private Jwt mint(User user, long tokenExpiration) {
+        long now = System.currentTimeMillis();
+        var claims = Jwts.claims()
+                .subject(user.getId().toString())
+                .add("email", user.getEmail())
+                .add("businessName", user.getBusinessName())
+                .add("role", user.getRole())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + 1000 * tokenExpiration))
+                .build();
+
+        return Jwt.unsigned(claims, secretKey);
+    }
+}
@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS reservation_notifications (
+    id BIGSERIAL PRIMARY KEY,
+    reservation_id INT NOT NULL REFERENCES reservations(id) ON DELETE CASCADE,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_reservation_notifications_status
+    CHECK (status IN ('PENDING', 'SENT', 'FAILED'))
+    );
+
+CREATE INDEX IF NOT EXISTS idx_reservation_notifications_due
+    ON reservation_notifications(next_attempt_at)
+    WHERE status = 'PENDING';
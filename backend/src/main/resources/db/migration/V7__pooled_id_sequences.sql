@@ -0,0 +1,11 @@
+-- Entity ids are now handed out by Hibernate in blocks of 50 (pooled-lo optimizer):
+-- one nextval() reserves [value, value + 49], so inserts no longer need a round trip
+-- each and can be batched. The column defaults stay, so plain SQL inserts keep
+-- working; each of them simply uses up a whole block.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE stalls_id_seq INCREMENT BY 50;
+ALTER SEQUENCE reservations_id_seq INCREMENT BY 50;
+ALTER SEQUENCE genres_id_seq INCREMENT BY 50;
+ALTER SEQUENCE events_id_seq INCREMENT BY 50;
+ALTER SEQUENCE email_otps_id_seq INCREMENT BY 50;
+ALTER SEQUENCE reservation_notifications_id_seq INCREMENT BY 50;
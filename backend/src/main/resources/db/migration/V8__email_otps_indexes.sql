@@ -0,0 +1,12 @@
+-- OtpService looks up the latest code per (email, purpose); the hourly cleanup
+-- walks the oldest rows in created_at order, one bounded batch at a time.
+--
+-- Built CONCURRENTLY so email_otps keeps taking writes while the indexes build,
+-- which means this migration cannot run inside a transaction (see the .conf next
+-- to it). A failed concurrent build leaves an INVALID index that IF NOT EXISTS
+-- would skip; drop it before running the migration again.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_email_otps_email_purpose_created
+    ON email_otps(email, purpose, created_at DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_email_otps_created
+    ON email_otps(created_at);
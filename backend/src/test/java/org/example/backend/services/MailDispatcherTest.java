@@ -0,0 +1,148 @@
+package org.example.backend.services;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.example.backend.config.MailDispatchConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MailDispatcherTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+
+    private ConnectionCountingProxy proxy;
+    private SimpleMeterRegistry meterRegistry;
+    private JavaMailSenderImpl mailSender;
+    private MailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        proxy = new ConnectionCountingProxy(greenMail.getSmtp().getPort());
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(proxy.port());
+
+        var config = new MailDispatchConfig();
+        config.setConcurrency(1);
+        config.setBatchSize(20);
+        config.setBatchWindowMillis(200);
+        config.setPerDomainPerSecond(1_000);
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new MailDispatcher(mailSender, config, meterRegistry);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        dispatcher.stop();
+        proxy.close();
+    }
+
+    @Test
+    void sendsABatchOverOneKeptAliveConnection() throws Exception {
+        var results = new ArrayList<CompletableFuture<Void>>();
+        for (int i = 0; i < 10; i++) {
+            results.add(dispatcher.submit(message("vendor" + i + "@example.com")));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        // A second batch after the first one finished still reuses the connection.
+        dispatcher.submit(message("late@example.com")).get(10, TimeUnit.SECONDS);
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(11);
+        assertThat(proxy.connections()).isEqualTo(1);
+        assertThat(meterRegistry.get("mail.dispatch.failed").counter().count()).isZero();
+    }
+
+    @Test
+    void failsOnlyTheMessageThatCouldNotBeSent() throws Exception {
+        var first = dispatcher.submit(message("first@example.com"));
+        var broken = dispatcher.submit(mailSender.createMimeMessage()); // no recipients
+        var last = dispatcher.submit(message("last@example.com"));
+
+        first.get(10, TimeUnit.SECONDS);
+        last.get(10, TimeUnit.SECONDS);
+        assertThat(broken).failsWithin(10, TimeUnit.SECONDS);
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+        assertThat(proxy.connections()).isEqualTo(1);
+        assertThat(meterRegistry.get("mail.dispatch.failed").counter().count()).isEqualTo(1);
+    }
+
+    private MimeMessage message(String to) throws Exception {
+        var message = mailSender.createMimeMessage();
+        var helper = new MimeMessageHelper(message);
+        helper.setFrom("noreply@bookfair.test");
+        helper.setTo(to);
+        helper.setSubject("Test");
+        helper.setText("Hello");
+        return message;
+    }
+
+    // Forwards TCP connections to the SMTP server and counts how many were opened.
+    private static final class ConnectionCountingProxy implements AutoCloseable {
+        private final ServerSocket server = new ServerSocket(0);
+        private final AtomicInteger connections = new AtomicInteger();
+
+        ConnectionCountingProxy(int targetPort) throws IOException {
+            var acceptor = new Thread(() -> {
+                while (!server.isClosed()) {
+                    try {
+                        var client = server.accept();
+                        connections.incrementAndGet();
+                        var target = new Socket("localhost", targetPort);
+                        pump(client.getInputStream(), target.getOutputStream());
+                        pump(target.getInputStream(), client.getOutputStream());
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        int connections() {
+            return connections.get();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+
+        private static void pump(InputStream in, OutputStream out) {
+            var thread = new Thread(() -> {
+                try (in; out) {
+                    in.transferTo(out);
+                } catch (IOException ignored) {
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+}
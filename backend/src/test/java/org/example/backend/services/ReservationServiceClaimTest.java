@@ -0,0 +1,158 @@
+package org.example.backend.services;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.example.backend.dtos.MakeReservationRequest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Races overlapping reservations through the service against a real Postgres, so the
+// claim statement, its unique index and the transaction rollback all take part.
+@SpringBootTest(properties = {
+        "SPRING_PROFILES_ACTIVE=test",
+        "JWT_SECRET=claim-test-secret-claim-test-secret-0123456789",
+        "OTP_PEPPER=claim-test-pepper-claim-test-pepper-0123456789",
+        "MAIL_USERNAME=claim-test@example.com",
+        "MAIL_PASSWORD=unused",
+        "spring.mail.host=localhost",
+        "spring.mail.port=1",
+        "management.server.port=-1",
+})
+class ReservationServiceClaimTest {
+    private static final int ROUNDS = 25;
+    private static final EmbeddedPostgres postgres = start();
+
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void overlappingClaimsNeverShareAStall() throws Exception {
+        var pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                var eventId = insertEvent();
+                var stallIds = List.of(insertStall(), insertStall(), insertStall());
+                var start = new CyclicBarrier(2);
+
+                var outcomes = new ArrayList<String>();
+                for (var future : List.of(
+                        pool.submit(reserve(start, insertUser(), eventId, stallIds.subList(0, 2))),
+                        pool.submit(reserve(start, insertUser(), eventId, stallIds.subList(1, 3))))) {
+                    outcomes.add(outcome(future));
+                }
+
+                assertThat(outcomes).containsExactlyInAnyOrder("reserved", "rejected");
+                assertThat(count("select count(*) from reservations where event_id = ?", eventId)).isEqualTo(1);
+                assertThat(count("select count(*) from reservation_stalls where event_id = ? and active", eventId))
+                        .isEqualTo(2);
+                assertThat(count("""
+                        select count(*) from reservation_stalls
+                        where event_id = ? and stall_id = %d and active
+                        """.formatted(stallIds.get(1)), eventId)).isEqualTo(1);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Callable<String> reserve(CyclicBarrier start, long userId, int eventId, List<Long> stallIds) {
+        return () -> {
+            var request = new MakeReservationRequest();
+            request.setEventId(eventId);
+            request.setStallIds(stallIds);
+            start.await(10, TimeUnit.SECONDS);
+            try {
+                reservationService.makeReservation(userId, request);
+                return "reserved";
+            } catch (IllegalArgumentException e) {
+                return "rejected";
+            }
+        };
+    }
+
+    // Anything but a clean rejection (a constraint violation, a deadlock) fails the test.
+    private static String outcome(Future<String> future) throws Exception {
+        return future.get(30, TimeUnit.SECONDS);
+    }
+
+    private int insertEvent() {
+        return jdbcTemplate.queryForObject("""
+                insert into events (name, year, status, start_date, end_date, created_at)
+                values (?, 2099, 'ACTIVE', now(), now() + interval '30 days', now())
+                returning id
+                """, Integer.class, "Claim race " + sequence.incrementAndGet());
+    }
+
+    private long insertStall() {
+        int n = sequence.incrementAndGet();
+        return jdbcTemplate.queryForObject("""
+                insert into stalls (stall_code, size, x_position, y_position)
+                values (?, 'SMALL', ?, 1)
+                returning id
+                """, Long.class, "R" + n, n * 3);
+    }
+
+    private long insertUser() {
+        int n = sequence.incrementAndGet();
+        return jdbcTemplate.queryForObject("""
+                insert into users (email, password, business_name, role, created_at, email_verified)
+                values (?, 'not-a-password-hash', ?, 'USER', now(), true)
+                returning id
+                """, Long.class, "claim" + n + "@example.com", "Claim " + n);
+    }
+
+    private long count(String sql, int eventId) {
+        return jdbcTemplate.queryForObject(sql, Long.class, eventId);
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            var started = EmbeddedPostgres.builder().start();
+            Flyway.configure()
+                    .dataSource(started.getPostgresDatabase())
+                    .locations("classpath:db/migration")
+                    .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                    .load()
+                    .migrate();
+            return started;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.backend.services;
+
+import org.example.backend.entities.Size;
+import org.example.backend.entities.Stall;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StallAdjacencyTest {
+
+    // A (LARGE) has B, C and D stacked along its right edge: A-B-C and A-C-D are
+    // triangles, B and D are two cells apart. E and F continue B's row one cell apart,
+    // G and H hang below A, J touches G but overlaps H, and K stands alone.
+    private static final List<Stall> STALLS = List.of(
+            stall(1, "A", Size.LARGE, 0, 0),
+            stall(2, "B", Size.SMALL, 7, 0),
+            stall(3, "C", Size.SMALL, 7, 2),
+            stall(4, "D", Size.SMALL, 7, 4),
+            stall(5, "E", Size.SMALL, 10, 0),
+            stall(6, "F", Size.SMALL, 13, 0),
+            stall(7, "G", Size.MEDIUM, 0, 7),
+            stall(8, "H", Size.SMALL, 0, 11),
+            stall(9, "J", Size.SMALL, 0, 10),
+            stall(10, "K", Size.SMALL, 20, 20));
+
+    private final StallLayout layout = StallLayout.of(STALLS);
+    private final StallAdjacency adjacency = StallAdjacency.of(layout);
+
+    @Test
+    void bestGroupsMatchBruteForce() {
+        var exclusions = List.of(Set.<String>of(), Set.of("C"), Set.of("A"), Set.of("B", "G"), Set.of("A", "E", "H"));
+        for (var excluded : exclusions) {
+            IntPredicate usable = ordinal -> !excluded.contains(layout.get(ordinal).getStallCode());
+            for (int size = 1; size <= 3; size++) {
+                for (int limit : new int[]{1, 2, 5, 100}) {
+                    assertThat(adjacency.bestGroups(size, usable, limit))
+                            .as("size %d, limit %d, without %s", size, limit, excluded)
+                            .usingElementComparator(Arrays::compare)
+                            .containsExactlyElementsOf(bruteForce(size, usable, limit));
+                }
+            }
+        }
+    }
+
+    @Test
+    void triangleIsReportedOnce() {
+        var groups = codes(adjacency.bestGroups(3, ordinal -> true, 100));
+
+        assertThat(groups).containsOnlyOnce(List.of("A", "B", "C"), List.of("A", "C", "D"));
+        assertThat(groups).doesNotHaveDuplicates();
+        // Paths through G whose ends overlap each other are not groups.
+        assertThat(groups).doesNotContain(List.of("G", "H", "J"));
+    }
+
+    @Test
+    void groupsHaveExactlyTheRequestedSizeAndSkipExcludedStalls() {
+        int c = layout.ordinalOf(3L);
+        for (int size = 1; size <= 3; size++) {
+            for (var group : adjacency.bestGroups(size, ordinal -> ordinal != c, 100)) {
+                assertThat(group).hasSize(size).doesNotContain(c);
+            }
+        }
+        assertThat(codes(adjacency.bestGroups(2, ordinal -> ordinal != c, 100)))
+                .doesNotContain(List.of("A", "C"), List.of("B", "C"), List.of("C", "D"))
+                .contains(List.of("A", "B"), List.of("A", "D"));
+    }
+
+    // Every subset of `size` usable stalls that is connected and free of overlaps,
+    // ranked by wasted cells, then by ordinals.
+    private List<int[]> bruteForce(int size, IntPredicate usable, int limit) {
+        var groups = new ArrayList<int[]>();
+        int n = layout.size();
+        for (int a = 0; a < n; a++) {
+            for (int b = size > 1 ? a + 1 : -1; b < (size > 1 ? n : 0); b++) {
+                for (int c = size > 2 ? b + 1 : -1; c < (size > 2 ? n : 0); c++) {
+                    var group = size == 1 ? new int[]{a} : size == 2 ? new int[]{a, b} : new int[]{a, b, c};
+                    if (Arrays.stream(group).allMatch(usable::test) && isGroup(group)) {
+                        groups.add(group);
+                    }
+                }
+            }
+        }
+        groups.sort(Comparator.<int[]>comparingInt(this::wastedCells).thenComparing(Arrays::compare));
+        return groups.subList(0, Math.min(limit, groups.size()));
+    }
+
+    private boolean isGroup(int[] ordinals) {
+        int links = 0;
+        for (int i = 0; i < ordinals.length; i++) {
+            for (int j = i + 1; j < ordinals.length; j++) {
+                var a = layout.get(ordinals[i]);
+                var b = layout.get(ordinals[j]);
+                if (gapX(a, b) < 0 && gapY(a, b) < 0) {
+                    return false;
+                }
+                if (sideBySide(a, b)) {
+                    links++;
+                }
+            }
+        }
+        // Three stalls are connected when at least two of their pairs touch.
+        return links >= ordinals.length - 1;
+    }
+
+    private int wastedCells(int[] ordinals) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        int covered = 0;
+        for (int ordinal : ordinals) {
+            var stall = layout.get(ordinal);
+            minX = Math.min(minX, stall.getXPosition());
+            minY = Math.min(minY, stall.getYPosition());
+            maxX = Math.max(maxX, stall.getXPosition() + stall.getSize().width());
+            maxY = Math.max(maxY, stall.getYPosition() + stall.getSize().height());
+            covered += stall.getSize().width() * stall.getSize().height();
+        }
+        return (maxX - minX) * (maxY - minY) - covered;
+    }
+
+    private static boolean sideBySide(Stall a, Stall b) {
+        int gapX = gapX(a, b);
+        int gapY = gapY(a, b);
+        return (gapX < 0 && gapY >= 0 && gapY <= StallAdjacency.MAX_GAP)
+                || (gapY < 0 && gapX >= 0 && gapX <= StallAdjacency.MAX_GAP);
+    }
+
+    // Empty cells between the two footprints along an axis; negative when they overlap on it.
+    private static int gapX(Stall a, Stall b) {
+        return Math.max(b.getXPosition() - (a.getXPosition() + a.getSize().width()),
+                a.getXPosition() - (b.getXPosition() + b.getSize().width()));
+    }
+
+    private static int gapY(Stall a, Stall b) {
+        return Math.max(b.getYPosition() - (a.getYPosition() + a.getSize().height()),
+                a.getYPosition() - (b.getYPosition() + b.getSize().height()));
+    }
+
+    private List<List<String>> codes(List<int[]> groups) {
+        return groups.stream()
+                .map(group -> Arrays.stream(group).mapToObj(ordinal -> layout.get(ordinal).getStallCode()).toList())
+                .toList();
+    }
+
+    private static Stall stall(long id, String code, Size size, int x, int y) {
+        return Stall.builder().id(id).stallCode(code).size(size).xPosition(x).yPosition(y).build();
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.backend.services;
+
+import org.example.backend.entities.Size;
+import org.example.backend.entities.Stall;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class StallGridTest {
+
+    @Test
+    void nearestFromFarOffTheMapIsBoundedAndCorrect() {
+        var stalls = packed(1_000);
+        var grid = StallGrid.of(stalls);
+
+        for (int[] point : new int[][]{{100_000, 0}, {0, 100_000}, {-100_000, -100_000},
+                {1_000_000, -1_000_000}, {-1_000_000, 50}}) {
+            var found = assertTimeoutPreemptively(Duration.ofSeconds(1),
+                    () -> grid.nearest(point[0], point[1], stall -> true));
+            assertThat(found).isSameAs(bruteForce(stalls, point[0], point[1], stall -> true));
+        }
+    }
+
+    @Test
+    void nearestMatchesBruteForce() {
+        var stalls = packed(500);
+        var grid = StallGrid.of(stalls);
+        Predicate<Stall> filter = stall -> stall.getSize() == Size.SMALL && stall.getId() % 3 != 0;
+
+        var random = new Random(17);
+        for (int i = 0; i < 2_000; i++) {
+            int x = random.nextInt(400) - 100;
+            int y = random.nextInt(400) - 100;
+            assertThat(grid.nearest(x, y, filter)).isSameAs(bruteForce(stalls, x, y, filter));
+        }
+    }
+
+    @Test
+    void nearestInSparseLayoutScansBucketsOnce() {
+        var stalls = List.of(stall(1, Size.SMALL, 0, 0), stall(2, Size.LARGE, 1_000_000, 1_000_000),
+                stall(3, Size.MEDIUM, 500_000, 10));
+        var grid = StallGrid.of(stalls);
+
+        var found = assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> grid.nearest(400_000, 400_000, stall -> true));
+        assertThat(found.getId()).isEqualTo(3L);
+        assertThat(grid.nearest(400_000, 400_000, stall -> false)).isNull();
+    }
+
+    @Test
+    void nearestOnEmptyGridIsNull() {
+        assertThat(StallGrid.of(List.of()).nearest(0, 0, stall -> true)).isNull();
+    }
+
+    private static Stall bruteForce(List<Stall> stalls, int x, int y, Predicate<Stall> filter) {
+        return stalls.stream()
+                .filter(filter)
+                .min(Comparator.<Stall>comparingLong(stall -> distanceSquared(stall, x, y))
+                        .thenComparing(Stall::getId))
+                .orElse(null);
+    }
+
+    private static long distanceSquared(Stall stall, int x, int y) {
+        long right = stall.getXPosition() + stall.getSize().width() - 1;
+        long bottom = stall.getYPosition() + stall.getSize().height() - 1;
+        long dx = Math.max(0, Math.max(stall.getXPosition() - (long) x, x - right));
+        long dy = Math.max(0, Math.max(stall.getYPosition() - (long) y, y - bottom));
+        return dx * dx + dy * dy;
+    }
+
+    private static List<Stall> packed(int count) {
+        var sizes = Size.values();
+        int perRow = (int) Math.ceil(Math.sqrt(count));
+        var stalls = new ArrayList<Stall>(count);
+        int y = 1;
+        for (int row = 0; stalls.size() < count; row++) {
+            var size = sizes[row % sizes.length];
+            for (int column = 0; column < perRow && stalls.size() < count; column++) {
+                stalls.add(stall(stalls.size() + 1, size, 1 + column * (size.width() + 1), y));
+            }
+            y += size.height() + 1;
+        }
+        return stalls;
+    }
+
+    private static Stall stall(long id, Size size, int x, int y) {
+        return Stall.builder().id(id).stallCode("S" + id).size(size).xPosition(x).yPosition(y).build();
+    }
+}
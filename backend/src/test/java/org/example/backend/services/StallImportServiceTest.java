@@ -0,0 +1,210 @@
+package org.example.backend.services;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.example.backend.dtos.AddStallRequest;
+import org.example.backend.dtos.StallImportError;
+import org.example.backend.entities.Size;
+import org.example.backend.exceptions.StallImportException;
+import org.example.backend.mappers.StallMapperImpl;
+import org.example.backend.repositories.StallRepository;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StallImportServiceTest {
+
+    private StallRepository stallRepository;
+    private EntityManager entityManager;
+    private JdbcTemplate jdbcTemplate;
+    private StallImportService service;
+
+    // Existing stalls as {code, x, y}, served to the position check.
+    private final List<Object[]> existing = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stallRepository = mock(StallRepository.class);
+        entityManager = mock(EntityManager.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+        when(stallRepository.findExistingStallCodes(any())).thenAnswer(invocation -> existing.stream()
+                .map(stall -> (String) stall[0])
+                .filter(invocation.<Collection<String>>getArgument(0)::contains)
+                .toList());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (var stall : existing) {
+                var rs = mock(ResultSet.class);
+                when(rs.getString(1)).thenReturn((String) stall[0]);
+                when(rs.getInt(2)).thenReturn((Integer) stall[1]);
+                when(rs.getInt(3)).thenReturn((Integer) stall[2]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        service = new StallImportService(stallRepository, new StallMapperImpl(), jdbcTemplate, entityManager,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                mock(StallAvailabilityIndex.class), mock(ResourceVersions.class));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void parsesReorderedHeaderWithBomAndSkipsBlankLines() throws IOException {
+        var parsed = parse("\uFEFFy_position, Size ,stallCode,xPosition\r\n"
+                + "1,small,A1,2\r\n"
+                + "\r\n"
+                + "   \n"
+                + "4,LARGE,A2,10\n");
+
+        assertThat(parsed.errors()).isEmpty();
+        assertThat(parsed.rows()).hasSize(2);
+        assertThat(parsed.rows().get(0)).isEqualTo(request("A1", Size.SMALL, 2, 1));
+        assertThat(parsed.rows().get(1)).isEqualTo(request("A2", Size.LARGE, 10, 4));
+    }
+
+    @Test
+    void reportsUnparsableRowsWithTheirRowNumbers() throws IOException {
+        var parsed = parse("stallCode,size,xPosition,yPosition\n"
+                + "A1,SMALL,1,1\n"
+                + "A2,HUGE,2,2\n"
+                + "A3,SMALL,three,3\n"
+                + "A4,SMALL,4,4.5\n"
+                + "\"A,5\",SMALL,5,5\n");
+
+        assertThat(parsed.rows()).hasSize(5);
+        assertThat(parsed.rows().subList(1, 5)).containsOnlyNulls();
+        assertThat(parsed.errors()).extracting(StallImportError::getRow, StallImportError::getMessage)
+                .containsExactly(
+                        tuple(2, "Size must be SMALL, MEDIUM or LARGE."),
+                        tuple(3, "X position must be a whole number."),
+                        tuple(4, "Y position must be a whole number."),
+                        tuple(5, "Quoted fields are not supported."));
+    }
+
+    @Test
+    void rejectsBadHeaders() {
+        assertThatThrownBy(() -> parse(""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("CSV upload is empty.");
+        assertThatThrownBy(() -> parse("stallCode,size,xPosition\nA1,SMALL,1\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CSV header must contain");
+        assertThatThrownBy(() -> parse("\"stallCode\",size,xPosition,yPosition\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Quoted fields are not supported.");
+    }
+
+    @Test
+    void capsTheNumberOfRows() {
+        var csv = new StringBuilder("stallCode,size,xPosition,yPosition\n");
+        for (int i = 0; i <= 5_000; i++) {
+            csv.append('S').append(i).append(",SMALL,").append(i).append(",0\n");
+        }
+        assertThatThrownBy(() -> parse(csv.toString()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("At most 5000 stalls can be imported at once.");
+
+        var rows = new ArrayList<AddStallRequest>();
+        for (int i = 0; i <= 5_000; i++) {
+            rows.add(request("S" + i, Size.SMALL, i, 0));
+        }
+        assertThatThrownBy(() -> service.importStalls(rows, List.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("At most 5000 stalls can be imported at once.");
+        rows.remove(rows.size() - 1);
+        assertThat(service.importStalls(rows, List.of())).hasSize(5_000);
+    }
+
+    @Test
+    void reportsDuplicatesWithinTheFileAndAgainstExistingStalls() {
+        existing.add(new Object[]{"OLD1", 50, 50});
+        existing.add(new Object[]{"OLD2", 60, 60});
+
+        var rows = List.of(
+                request("A1", Size.SMALL, 1, 1),
+                request("A1", Size.SMALL, 2, 2),    // same code as row 1
+                request("A3", Size.SMALL, 1, 1),    // same position as row 1
+                request("OLD1", Size.SMALL, 3, 3),  // code already exists
+                request("A5", Size.SMALL, 60, 60),  // position of OLD2
+                request("", Size.SMALL, -1, 4));    // bean constraints
+
+        assertThatThrownBy(() -> service.importStalls(rows, List.of()))
+                .isInstanceOfSatisfying(StallImportException.class, e -> assertThat(e.getErrors())
+                        .extracting(StallImportError::getRow, StallImportError::getMessage)
+                        .containsExactly(
+                                tuple(2, "Duplicate stall code (also on row 1)."),
+                                tuple(3, "Position is already used by row 1."),
+                                tuple(4, "Stall code already exists."),
+                                tuple(5, "Position is already used by stall OLD2."),
+                                tuple(6,
+                                        "Stall code is required. X position must be zero or greater.")));
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void keepsParseErrorsAndReportsEverythingTogether() throws IOException {
+        var parsed = parse("stallCode,size,xPosition,yPosition\n"
+                + "A1,SMALL,1,1\n"
+                + "A2,SMALL,x,2\n"
+                + "A1,SMALL,3,3\n");
+
+        assertThatThrownBy(() -> service.importStalls(parsed.rows(), parsed.errors()))
+                .isInstanceOfSatisfying(StallImportException.class, e -> assertThat(e.getErrors())
+                        .extracting(StallImportError::getRow)
+                        .containsExactly(2, 3));
+    }
+
+    @Test
+    void importsACleanUpload() throws IOException {
+        var parsed = parse("stallCode,size,xPosition,yPosition\nA1,SMALL,1,1\nA2,MEDIUM,5,1\n");
+
+        var created = service.importStalls(parsed.rows(), parsed.errors());
+
+        assertThat(created).extracting("stallCode").containsExactly("A1", "A2");
+        verify(entityManager, times(2)).persist(any());
+        verify(entityManager).flush();
+    }
+
+    private StallImportService.ParsedStalls parse(String csv) throws IOException {
+        return service.parseCsv(new StringReader(csv));
+    }
+
+    private static AddStallRequest request(String code, Size size, int x, int y) {
+        var request = new AddStallRequest();
+        request.setStallCode(code);
+        request.setSize(size);
+        request.setXPosition(x);
+        request.setYPosition(y);
+        return request;
+    }
+}
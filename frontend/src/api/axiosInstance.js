@@ -1,7 +1,7 @@
 import axios from "axios";
 import toast from "react-hot-toast";
 
-const API_BASE =
+export const API_BASE =
   import.meta.env.VITE_API_BASE_URL || "https://bookfair-stall-reservation-system-production.up.railway.app/api";
 const ACCESS_TOKEN_KEY = "accessToken";
 export const getAccessToken = () => localStorage.getItem(ACCESS_TOKEN_KEY);
@@ -7,15 +7,41 @@ export const createReservation = async ({ eventId, stallIds }) => {
 };
 
 
+// Holds a selection for a few minutes without writing a reservation; confirmHold
+// turns it into one, releaseHold gives the stalls back.
+export const holdStalls = async ({ eventId, stallIds }) => {
+  const res = await api.post("/reservations/holds", { eventId, stallIds });
+  return res.data;
+};
+
+
+export const confirmHold = async (holdId) => {
+  const res = await api.post(`/reservations/holds/${holdId}/confirm`);
+  return res.data;
+};
+
+
+export const releaseHold = async (holdId) => {
+  await api.delete(`/reservations/holds/${holdId}`);
+};
+
+
 export const getMyReservations = async (params = {}) => {
   const res = await api.get("/reservations/me", { params });
   return res.data;
 };
 
 
+// The employee listing is keyset-paged; follow X-Next-Cursor until the last page.
 export const getReservations = async (params = {}) => {
-  const res = await api.get("/reservations", { params });
-  return res.data;
+  const reservations = [];
+  let afterId;
+  do {
+    const res = await api.get("/reservations", { params: { ...params, afterId, limit: 1000 } });
+    reservations.push(...res.data);
+    afterId = res.headers["x-next-cursor"];
+  } while (afterId);
+  return reservations;
 };
 
 
@@ -1,4 +1,4 @@
-import api from "./axiosInstance";
+import api, { API_BASE } from "./axiosInstance";
 
 
 export const getStallsByEvent = async (eventId) => {
@@ -7,6 +7,47 @@ export const getStallsByEvent = async (eventId) => {
 };
 
 
+// Opens the availability stream: one "snapshot" with the full map, then small
+// "delta" events ({ reserved: [ids], released: [ids] }) and "hold" events
+// ({ held: [ids], released: [ids] }). Returns a close function.
+export const subscribeStallsByEvent = (eventId, { onSnapshot, onDelta, onHold, onError } = {}) => {
+  const source = new EventSource(`${API_BASE}/stalls/event/${eventId}/stream`);
+
+  source.addEventListener("snapshot", (e) => onSnapshot?.(JSON.parse(e.data)));
+  source.addEventListener("delta", (e) => onDelta?.(JSON.parse(e.data)));
+  source.addEventListener("hold", (e) => onHold?.(JSON.parse(e.data)));
+  source.onerror = (e) => onError?.(e);
+
+  return () => source.close();
+};
+
+
+export const applyStallDelta = (stalls, delta) => {
+  const reserved = new Set(delta?.reserved || []);
+  const released = new Set(delta?.released || []);
+  if (reserved.size === 0 && released.size === 0) return stalls;
+
+  return stalls.map((s) => {
+    if (reserved.has(s.id)) return { ...s, reserved: true };
+    if (released.has(s.id)) return { ...s, reserved: false };
+    return s;
+  });
+};
+
+
+export const applyStallHold = (stalls, change) => {
+  const held = new Set(change?.held || []);
+  const released = new Set(change?.released || []);
+  if (held.size === 0 && released.size === 0) return stalls;
+
+  return stalls.map((s) => {
+    if (held.has(s.id)) return { ...s, held: true };
+    if (released.has(s.id)) return { ...s, held: false };
+    return s;
+  });
+};
+
+
 export const getAllStalls = async () => {
   const res = await api.get("/stalls");
   return res.data;
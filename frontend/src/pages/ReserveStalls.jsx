@@ -6,8 +6,18 @@ import StallMap from "../components/stalls/StallMap";
 import Loading from "../components/common/Loading";
 import EmptyState from "../components/common/EmptyState";
 
-import { getStallsByEvent } from "../api/stalls.api";
-import { createReservation, getMyReservations } from "../api/reservations.api";
+import {
+  applyStallDelta,
+  applyStallHold,
+  getStallsByEvent,
+  subscribeStallsByEvent,
+} from "../api/stalls.api";
+import {
+  confirmHold,
+  getMyReservations,
+  holdStalls,
+  releaseHold,
+} from "../api/reservations.api";
 import { getActiveEvent, getEvents } from "../api/events.api";
 
 export default function ReserveStalls() {
@@ -16,6 +26,7 @@ export default function ReserveStalls() {
 
   const [stalls, setStalls] = useState([]);
   const [selected, setSelected] = useState([]);
+  const [hold, setHold] = useState(null);
 
   const [loading, setLoading] = useState(true);
   const [saving, setSaving] = useState(false);
@@ -85,6 +96,21 @@ export default function ReserveStalls() {
     };
   }, [eventId]);
 
+  useEffect(() => {
+    if (!activeEventId) return undefined;
+
+    return subscribeStallsByEvent(activeEventId, {
+      onSnapshot: (data) => setStalls(Array.isArray(data) ? data : []),
+      onDelta: (delta) => {
+        setStalls((prev) => applyStallDelta(prev, delta));
+
+        const taken = new Set(delta?.reserved || []);
+        setSelected((prev) => prev.filter((id) => !taken.has(id)));
+      },
+      onHold: (change) => setStalls((prev) => applyStallHold(prev, change)),
+    });
+  }, [activeEventId]);
+
   useEffect(() => {
     let alive = true;
 
@@ -188,10 +214,12 @@ export default function ReserveStalls() {
 
   const disabledStallIds = useMemo(() => {
     const disabled = [];
+    const mine = new Set(hold?.stallIds || []);
 
     for (const s of stalls) {
       const isReserved =
         s.reserved === true ||
+        (s.held === true && !mine.has(s.id) && !selected.includes(s.id)) ||
         s.isReserved === true ||
         (typeof s.reservationId === "number" && s.reservationId > 0) ||
         (typeof s.reservedByReservationId === "number" &&
@@ -201,7 +229,7 @@ export default function ReserveStalls() {
     }
 
     return disabled;
-  }, [stalls]);
+  }, [stalls, hold, selected]);
 
   const stallCodeById = useMemo(() => {
     return new Map(stalls.map((s) => [s.id, s.stallCode || `Stall ${s.id}`]));
@@ -234,23 +262,48 @@ export default function ReserveStalls() {
     setSelected((prev) => [...prev, stallId]);
   }
 
-  function onConfirm() {
+  async function onConfirm() {
     if (selected.length < 1) {
       toast.error("Select at least 1 stall.");
       return;
     }
 
-    setShowReservationConfirmModal(true);
+    try {
+      setSaving(true);
+      const placed = await holdStalls({
+        eventId: Number(eventId) || activeEventId,
+        stallIds: selected,
+      });
+      setHold(placed);
+      setShowReservationConfirmModal(true);
+    } catch (e) {
+      if (!e?.response) {
+        toast.error("Unable to hold the selected stalls. Please try again.");
+      }
+    } finally {
+      setSaving(false);
+    }
+  }
+
+  async function onConfirmReservationNo() {
+    setShowReservationConfirmModal(false);
+    if (!hold?.holdId) return;
+
+    const holdId = hold.holdId;
+    setHold(null);
+    try {
+      await releaseHold(holdId);
+    } catch {
+      // The hold expires on its own.
+    }
   }
 
   async function onConfirmReservationYes() {
     try {
       setSaving(true);
 
-      const res = await createReservation({
-        eventId: Number(eventId) || activeEventId,
-        stallIds: selected,
-      });
+      const res = await confirmHold(hold?.holdId);
+      setHold(null);
 
       const newId =
         res?.id ||
@@ -440,7 +493,9 @@ export default function ReserveStalls() {
               }
               className="mt-5 w-full rounded-xl bg-[var(--color-primary)] text-white py-2.5 font-semibold hover:opacity-95 disabled:opacity-60"
             >
-              {saving ? "Confirming..." : "Confirm Reservation"}
+              {saving && !showReservationConfirmModal
+                ? "Holding..."
+                : "Confirm Reservation"}
             </button>
 
             <p className="mt-3 text-xs text-gray-500">
@@ -460,10 +515,16 @@ export default function ReserveStalls() {
             <p className="mt-3 text-sm text-gray-700">
               Do you want to confirm the reservation?
             </p>
+            {hold?.expiresAt && (
+              <p className="mt-2 text-xs text-gray-500">
+                Your stalls are held until{" "}
+                {new Date(hold.expiresAt).toLocaleTimeString()}.
+              </p>
+            )}
             <div className="flex justify-end gap-3 mt-6">
               <button
                 type="button"
-                onClick={() => setShowReservationConfirmModal(false)}
+                onClick={onConfirmReservationNo}
                 disabled={saving}
                 className="px-4 py-2 text-sm font-semibold border rounded-lg border-slate-300 text-slate-700 hover:bg-slate-50 disabled:opacity-60"
               >
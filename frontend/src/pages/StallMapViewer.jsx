@@ -3,12 +3,17 @@ import { Link } from "react-router-dom";
 import toast from "react-hot-toast";
 import StallMap from "../components/stalls/StallMap";
 import Loading from "../components/common/Loading";
-import { getStallsByEvent } from "../api/stalls.api";
+import {
+  applyStallDelta,
+  getStallsByEvent,
+  subscribeStallsByEvent,
+} from "../api/stalls.api";
 import { getActiveEvent } from "../api/events.api";
 
 export default function StallMapViewer() {
   const [stalls, setStalls] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [eventId, setEventId] = useState(null);
 
   useEffect(() => {
     let alive = true;
@@ -26,6 +31,7 @@ export default function StallMapViewer() {
         const data = await getStallsByEvent(activeEventId);
         if (!alive) return;
         setStalls(Array.isArray(data) ? data : []);
+        setEventId(activeEventId);
       } catch (e) {
         if (!alive) return;
         const raw =
@@ -51,6 +57,15 @@ export default function StallMapViewer() {
     };
   }, []);
 
+  useEffect(() => {
+    if (!eventId) return undefined;
+
+    return subscribeStallsByEvent(eventId, {
+      onSnapshot: (data) => setStalls(Array.isArray(data) ? data : []),
+      onDelta: (delta) => setStalls((prev) => applyStallDelta(prev, delta)),
+    });
+  }, [eventId]);
+
   const disabledStallIds = useMemo(() => {
     return stalls
       .filter(